@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.1.5"
     id("io.spring.dependency-management") version "1.1.3"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.umbrella"
@@ -17,6 +18,14 @@ configurations {
     }
 }
 
+val loadTest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadTest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadTest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 repositories {
     mavenCentral()
 }
@@ -25,15 +34,27 @@ dependencies {
     // Spring Implementation
     implementation("org.springframework.boot:spring-boot-starter")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
 
     // Database
     implementation("com.h2database:h2:2.2.224")
     runtimeOnly("com.h2database:h2")
     implementation("org.postgresql:postgresql:42.6.0")
+    implementation("org.flywaydb:flyway-core")
+    implementation("org.springframework:spring-r2dbc")
+    implementation("io.r2dbc:r2dbc-pool")
+    runtimeOnly("org.postgresql:r2dbc-postgresql")
+
+    // Metrics
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
+    // Caching
+    implementation("com.github.ben-manes.caffeine:caffeine")
 
     // Utility tools
     compileOnly("org.projectlombok:lombok")
@@ -47,8 +68,42 @@ dependencies {
     testImplementation("org.testcontainers:junit-jupiter")
     testImplementation("org.testcontainers:postgresql:1.19.1")
     testImplementation("org.springframework.boot:spring-boot-testcontainers:3.1.5")
+
+    // Load test
+    "loadTestImplementation"("org.testcontainers:postgresql:1.19.1")
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.1.12")
+}
+
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+}
+
+tasks.register<Test>("benchmarkTest") {
+    description = "Runs the tests tagged as benchmarks."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+tasks.register<JavaExec>("loadTest") {
+    description = "Seeds a generated dataset and runs the HTTP load test against a locally started application."
+    group = "verification"
+    classpath = loadTest.runtimeClasspath
+    mainClass.set("com.umbrella.recipes.loadtest.LoadTest")
+    systemProperties(project.properties.filterKeys { it.startsWith("loadTest.") })
 }
 
-tasks.withType<Test> {
-    useJUnitPlatform()
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    findProperty("jmhIncludes")?.let { includes.set(listOf(it.toString())) }
 }
@@ -0,0 +1,140 @@
+package com.umbrella.recipes.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares answering a recipe search from the in-memory {@link RecipeSearchIndex} with the LIKE-based queries the
+ * repository runs against the database, using an embedded H2 database holding the same synthetic recipes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecipeSearchIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "tomato", "basil", "garlic", "onion", "pasta", "chicken", "beef", "rice", "lemon", "butter",
+            "flour", "sugar", "egg", "milk", "cheese", "pepper", "salt", "olive", "oil", "cream",
+            "potato", "carrot", "celery", "thyme", "rosemary", "honey", "ginger", "soy", "chili", "lime"};
+    private static final String[] CATEGORIES = {"breakfast", "lunch", "dinner", "dessert", "snack", "drink"};
+
+    @Param({"10000", "100000"})
+    private int recipes;
+
+    private RecipeSearchIndex index;
+    private Connection connection;
+    private PreparedStatement nameQuery;
+    private PreparedStatement categoryQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Random random = new Random(42);
+        List<RecipeSearchIndex.Document> documents = new ArrayList<>(recipes);
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:search-benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE recipe_model (recipe_id BIGINT PRIMARY KEY, name VARCHAR(255), "
+                    + "category VARCHAR(255), date TIMESTAMP)");
+            statement.execute("CREATE TABLE recipe_model_ingredients (recipe_model_recipe_id BIGINT, ingredients VARCHAR(255))");
+        }
+
+        try (PreparedStatement recipeInsert = connection.prepareStatement(
+                "INSERT INTO recipe_model VALUES (?, ?, ?, CURRENT_TIMESTAMP)");
+             PreparedStatement ingredientInsert = connection.prepareStatement(
+                     "INSERT INTO recipe_model_ingredients VALUES (?, ?)")) {
+            for (long id = 1; id <= recipes; id++) {
+                String name = word(random) + " " + word(random) + " " + word(random);
+                String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+                List<String> texts = new ArrayList<>(List.of(name, category));
+
+                recipeInsert.setLong(1, id);
+                recipeInsert.setString(2, name);
+                recipeInsert.setString(3, category);
+                recipeInsert.addBatch();
+                for (int i = 0; i < 5; i++) {
+                    String ingredient = word(random);
+                    texts.add(ingredient);
+                    ingredientInsert.setLong(1, id);
+                    ingredientInsert.setString(2, ingredient);
+                    ingredientInsert.addBatch();
+                }
+                documents.add(new RecipeSearchIndex.Document(id, texts));
+            }
+            recipeInsert.executeBatch();
+            ingredientInsert.executeBatch();
+        }
+
+        index = new RecipeSearchIndex();
+        index.rebuild(documents::stream);
+
+        nameQuery = connection.prepareStatement(
+                "SELECT recipe_id FROM recipe_model WHERE name ILIKE ? ORDER BY date DESC LIMIT 20");
+        categoryQuery = connection.prepareStatement(
+                "SELECT recipe_id FROM recipe_model WHERE UPPER(category) = UPPER(?) ORDER BY date DESC LIMIT 20");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long[] indexNameSearch() {
+        return index.search("tomato basil", 20);
+    }
+
+    @Benchmark
+    public long[] indexCategorySearch() {
+        return index.search("dessert", 20);
+    }
+
+    @Benchmark
+    public void likeNameSearch(Blackhole blackhole) throws SQLException {
+        nameQuery.setString(1, "%tomato basil%");
+        consume(nameQuery, blackhole);
+    }
+
+    @Benchmark
+    public void likeCategorySearch(Blackhole blackhole) throws SQLException {
+        categoryQuery.setString(1, "dessert");
+        consume(categoryQuery, blackhole);
+    }
+
+    private static void consume(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = query.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getLong(1));
+            }
+        }
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
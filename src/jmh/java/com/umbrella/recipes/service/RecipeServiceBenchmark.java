@@ -0,0 +1,105 @@
+package com.umbrella.recipes.service;
+
+import com.umbrella.recipes.RestRecipesProjectApplication;
+import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.RecipesRepository;
+import com.umbrella.recipes.persistence.UserRepository;
+import com.umbrella.recipes.web.dto.RecipeDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of the RecipeService read paths against the embedded H2 database of the {@code h2} profile, through the full
+ * Spring context: repository query, mapping and, for searches, the LIKE queries. The recipe cache is disabled so that
+ * every {@code getRecipe} reaches the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecipeServiceBenchmark {
+
+    private static final String[] CATEGORIES = {"breakfast", "lunch", "dinner", "dessert", "snack", "drink"};
+    private static final int CHUNK_SIZE = 500;
+
+    @Param({"10000"})
+    private int recipes;
+
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+    private List<Long> recipeIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RestRecipesProjectApplication.class)
+                .profiles("h2")
+                .properties("server.port=0", "recipes.cache.max-size=0", "logging.level.root=WARN")
+                .run();
+        recipeService = context.getBean(RecipeService.class);
+
+        RecipesRepository recipesRepository = context.getBean(RecipesRepository.class);
+        UserModel user = context.getBean(UserRepository.class)
+                .saveAndFlush(new UserModel("benchmark@test.com", "password", "ROLE_USER"));
+        Random random = new Random(42);
+        recipeIds = new ArrayList<>(recipes);
+        for (int offset = 0; offset < recipes; offset += CHUNK_SIZE) {
+            List<RecipeModel> chunk = IntStream.range(offset, Math.min(offset + CHUNK_SIZE, recipes))
+                    .mapToObj(i -> RecipeModel.builder()
+                            .name("recipe " + i)
+                            .description("description " + i)
+                            .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                            .ingredients(List.of("ingredient 1", "ingredient 2", "ingredient 3"))
+                            .directions(List.of("direction 1", "direction 2"))
+                            .userModel(user)
+                            .build())
+                    .toList();
+            recipesRepository.saveAllAndFlush(chunk).forEach(recipe -> recipeIds.add(recipe.getRecipeId()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<RecipeDTO> getRecipe() {
+        Long id = recipeIds.get(next);
+        next = (next + 1) % recipeIds.size();
+        return recipeService.getRecipe(id);
+    }
+
+    @Benchmark
+    public List<RecipeDTO> searchRecipeByCategory() {
+        return recipeService.searchRecipeByCategory("dessert");
+    }
+
+    @Benchmark
+    public List<RecipeDTO> searchRecipeByName() {
+        return recipeService.searchRecipeByName("recipe 99");
+    }
+}
@@ -0,0 +1,61 @@
+package com.umbrella.recipes.web.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of writing search results as a JSON array, with the ObjectMapper defaults Spring Boot uses for responses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecipeDTOSerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int recipes;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter listWriter;
+    private List<RecipeDTO> recipeDTOs;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, RecipeDTO.class));
+        recipeDTOs = IntStream.range(0, recipes)
+                .mapToObj(i -> new RecipeDTO("recipe " + i, "description " + i, "dinner", "2024-01-01T12:00:00",
+                        List.of("ingredient 1", "ingredient 2", "ingredient 3", "ingredient 4", "ingredient 5"),
+                        List.of("direction 1", "direction 2", "direction 3")))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] writeList() throws Exception {
+        return objectMapper.writeValueAsBytes(recipeDTOs);
+    }
+
+    @Benchmark
+    public byte[] writeListWithTypedWriter() throws Exception {
+        return listWriter.writeValueAsBytes(recipeDTOs);
+    }
+}
@@ -0,0 +1,129 @@
+package com.umbrella.recipes.web.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.persistence.RecipeView;
+import com.umbrella.recipes.web.dto.RecipeDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of mapping one recipe to a {@link RecipeDTO}, from a loaded {@link RecipeModel} and from the
+ * {@link RecipeView} projection whose ingredients and directions still have to be parsed from JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecipeMapperBenchmark {
+
+    @Param({"5", "50"})
+    private int steps;
+
+    private AnnotationConfigApplicationContext context;
+    private RecipeMapper recipeMapper;
+    private RecipeModel recipeModel;
+    private RecipeView recipeView;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(ObjectMapper.class, () -> objectMapper);
+        context.register(JsonListMapper.class, RecipeMapperImpl.class);
+        context.refresh();
+        recipeMapper = context.getBean(RecipeMapper.class);
+
+        List<String> ingredients = IntStream.range(0, steps).mapToObj(i -> "ingredient " + i).toList();
+        List<String> directions = IntStream.range(0, steps).mapToObj(i -> "direction " + i).toList();
+        recipeModel = RecipeModel.builder()
+                .recipeId(1L)
+                .name("benchmark")
+                .description("benchmark recipe")
+                .category("dinner")
+                .date(LocalDateTime.now())
+                .ingredients(ingredients)
+                .directions(directions)
+                .build();
+        recipeView = new View(1L, "benchmark", "benchmark recipe", "dinner", LocalDateTime.now(), 0L,
+                objectMapper.writeValueAsString(ingredients), objectMapper.writeValueAsString(directions));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RecipeDTO toDTOFromModel() {
+        return recipeMapper.toDTO(recipeModel);
+    }
+
+    @Benchmark
+    public RecipeDTO toDTOFromView() {
+        return recipeMapper.toDTO(recipeView);
+    }
+
+    private record View(Long id, String name, String description, String category, LocalDateTime date,
+                        Long version, String ingredients, String directions) implements RecipeView {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public String getCategory() {
+            return category;
+        }
+
+        @Override
+        public LocalDateTime getDate() {
+            return date;
+        }
+
+        @Override
+        public Long getVersion() {
+            return version;
+        }
+
+        @Override
+        public String getIngredients() {
+            return ingredients;
+        }
+
+        @Override
+        public String getDirections() {
+            return directions;
+        }
+    }
+}
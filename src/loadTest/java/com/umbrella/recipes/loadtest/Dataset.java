@@ -0,0 +1,29 @@
+package com.umbrella.recipes.loadtest;
+
+import java.util.Random;
+
+/**
+ * The seeded data the load test draws its requests from.
+ *
+ * @param users     The number of seeded users, named by {@link DatasetGenerator#username(int)}.
+ * @param password  The password of every seeded user.
+ * @param recipeIds The IDs of the seeded recipes.
+ */
+public record Dataset(int users, String password, long[] recipeIds) {
+
+    public long randomRecipeId(Random random) {
+        return recipeIds[random.nextInt(recipeIds.length)];
+    }
+
+    public String randomCategory(Random random) {
+        return DatasetGenerator.category(random);
+    }
+
+    public String randomNameWord(Random random) {
+        return DatasetGenerator.pick(random, DatasetGenerator.DISHES);
+    }
+
+    public String randomIngredientWord(Random random) {
+        return DatasetGenerator.pick(random, DatasetGenerator.INGREDIENTS);
+    }
+}
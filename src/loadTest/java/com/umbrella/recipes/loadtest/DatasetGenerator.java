@@ -0,0 +1,125 @@
+package com.umbrella.recipes.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates users and recipes that look like real ones in the properties that matter for performance: a handful of
+ * popular categories and a long tail of rare ones, a few prolific users, names and ingredients drawn from a shared
+ * vocabulary so that searches match many recipes, and 3-14 ingredients and 2-9 directions per recipe. The output
+ * depends only on the seed, so two runs with the same seed load the same dataset.
+ */
+public final class DatasetGenerator {
+
+    static final String[] CATEGORIES = {"Dinner", "Lunch", "Breakfast", "Dessert", "Soup", "Salad", "Snack", "Drink",
+            "Side dish", "Bread", "Sauce", "Preserves", "Vegan", "Barbecue", "Street food", "Holiday"};
+    static final String[] ADJECTIVES = {"spicy", "creamy", "smoky", "quick", "rustic", "roasted", "crispy", "slow cooked",
+            "grilled", "lemony", "garlic", "honey", "classic", "summer", "winter", "family"};
+    static final String[] DISHES = {"chicken", "lentil", "pasta", "risotto", "curry", "stew", "pancakes", "salmon", "tofu",
+            "noodles", "tart", "pie", "burger", "tacos", "soup", "salad", "omelette", "cake", "bread", "chili"};
+    static final String[] INGREDIENTS = {"onion", "garlic", "tomato", "olive oil", "butter", "flour", "sugar", "egg",
+            "milk", "salt", "pepper", "lemon", "rice", "potato", "carrot", "celery", "ginger", "chili", "cumin", "paprika",
+            "basil", "parsley", "thyme", "cream", "cheese", "chicken stock", "soy sauce", "honey", "mushroom", "spinach"};
+    static final String[] UNITS = {"g", "ml", "tbsp", "tsp", "cup", "pinch of", "handful of"};
+    static final String[] ACTIONS = {"Chop", "Stir in", "Simmer", "Whisk", "Fold in", "Roast", "Season", "Fry", "Bake",
+            "Blend", "Rest", "Serve with"};
+
+    private final Random random;
+    private final double[] categoryWeights = zipf(CATEGORIES.length);
+    private final double[] ownerWeights;
+
+    public DatasetGenerator(long seed, int users) {
+        this.random = new Random(seed);
+        this.ownerWeights = zipf(users);
+    }
+
+    /**
+     * A generated recipe, independent of the persistence model so it can be both stored and sent as a request body.
+     */
+    public record GeneratedRecipe(String name, String description, String category, List<String> ingredients,
+                                  List<String> directions) {
+    }
+
+    public static String username(int index) {
+        return "user" + index + "@load.test";
+    }
+
+    /**
+     * Picks the owner of the next recipe. Owners are Zipf-distributed, so the first users own most recipes.
+     */
+    public int nextOwner() {
+        return zipfIndex(random, ownerWeights);
+    }
+
+    public GeneratedRecipe nextRecipe() {
+        return recipe(random, categoryWeights);
+    }
+
+    /**
+     * Generates a recipe from the given source of randomness, for the bodies of create requests.
+     */
+    public static GeneratedRecipe recipe(Random random) {
+        return recipe(random, zipf(CATEGORIES.length));
+    }
+
+    private static GeneratedRecipe recipe(Random random, double[] categoryWeights) {
+        String adjective = pick(random, ADJECTIVES);
+        String dish = pick(random, DISHES);
+        String category = CATEGORIES[zipfIndex(random, categoryWeights)];
+
+        int ingredientCount = 3 + random.nextInt(6) + random.nextInt(6);
+        List<String> ingredients = new ArrayList<>(ingredientCount);
+        for (int i = 0; i < ingredientCount; i++) {
+            ingredients.add((1 + random.nextInt(500)) + " " + pick(random, UNITS) + " " + pick(random, INGREDIENTS));
+        }
+
+        int directionCount = 2 + random.nextInt(4) + random.nextInt(5);
+        List<String> directions = new ArrayList<>(directionCount);
+        for (int i = 0; i < directionCount; i++) {
+            directions.add(pick(random, ACTIONS) + " the " + pick(random, INGREDIENTS) + " for "
+                    + (1 + random.nextInt(30)) + " minutes.");
+        }
+
+        return new GeneratedRecipe(adjective + " " + dish,
+                "A " + adjective + " " + dish + " for " + category.toLowerCase() + ".",
+                category, ingredients, directions);
+    }
+
+    /**
+     * Picks a category with the same skew as the generated recipes, so searches hit popular categories more often.
+     */
+    public static String category(Random random) {
+        return CATEGORIES[zipfIndex(random, zipf(CATEGORIES.length))];
+    }
+
+    static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Cumulative weights of a Zipf distribution with exponent 1 over {@code n} values, normalized to end at 1.
+     */
+    private static double[] zipf(int n) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int zipfIndex(Random random, double[] cumulative) {
+        double draw = random.nextDouble();
+        for (int i = 0; i < cumulative.length; i++) {
+            if (draw < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+}
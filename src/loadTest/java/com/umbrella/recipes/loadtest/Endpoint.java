@@ -0,0 +1,89 @@
+package com.umbrella.recipes.loadtest;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * The requests the load test sends, each keyed by the name used in the endpoint mix and in the report. Request
+ * parameters are drawn from the generated {@link Dataset} so that searches match the seeded recipes.
+ */
+public enum Endpoint {
+
+    GET_RECIPE("get", "GET") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/api/recipe/" + dataset.randomRecipeId(random);
+        }
+    },
+    SEARCH_CATEGORY("category", "GET") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/api/recipe/search?category=" + encode(dataset.randomCategory(random));
+        }
+    },
+    SEARCH_NAME("name", "GET") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/api/recipe/search?name=" + encode(dataset.randomNameWord(random));
+        }
+    },
+    SEARCH_QUERY("query", "GET") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/api/recipe/search?q=" + encode(dataset.randomIngredientWord(random)) + "&limit=20";
+        }
+    },
+    SEARCH_PAGE("page", "GET") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/api/recipe/search?category=" + encode(dataset.randomCategory(random)) + "&limit=20";
+        }
+    },
+    CATEGORIES("categories", "GET") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/api/categories";
+        }
+    },
+    CREATE_RECIPE("create", "POST") {
+        @Override
+        String path(Dataset dataset, Random random) {
+            return "/api/recipe/new";
+        }
+    };
+
+    private final String key;
+    private final String method;
+
+    Endpoint(String key, String method) {
+        this.key = key;
+        this.method = method;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String method() {
+        return method;
+    }
+
+    /**
+     * Builds the path and query of the next request to this endpoint.
+     */
+    abstract String path(Dataset dataset, Random random);
+
+    public static Endpoint ofKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint " + key);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
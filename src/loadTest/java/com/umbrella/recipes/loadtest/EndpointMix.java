@@ -0,0 +1,81 @@
+package com.umbrella.recipes.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A weighted choice of endpoints, for instance {@code get=50,category=15,create=5}. Weights are relative and do not
+ * have to add up to 100.
+ */
+public final class EndpointMix {
+
+    private final List<Endpoint> endpoints;
+    private final int[] cumulativeWeights;
+
+    private EndpointMix(List<Endpoint> endpoints, int[] cumulativeWeights) {
+        this.endpoints = endpoints;
+        this.cumulativeWeights = cumulativeWeights;
+    }
+
+    /**
+     * Parses a comma-separated list of {@code endpoint=weight} pairs.
+     *
+     * @param spec The mix, keyed by {@link Endpoint#key()}.
+     * @return The parsed mix.
+     * @throws IllegalArgumentException if an endpoint is unknown or no endpoint has a positive weight.
+     */
+    public static EndpointMix parse(String spec) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint=weight but got " + entry);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                endpoints.add(Endpoint.ofKey(pair[0].trim()));
+                weights.add(weight);
+            }
+        }
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("Endpoint mix " + spec + " has no positive weight");
+        }
+
+        int[] cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            total += weights.get(i);
+            cumulativeWeights[i] = total;
+        }
+        return new EndpointMix(List.copyOf(endpoints), cumulativeWeights);
+    }
+
+    public List<Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Draws the next endpoint according to its weight.
+     */
+    public Endpoint next(Random random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return endpoints.get(i);
+            }
+        }
+        throw new IllegalStateException("Draw " + draw + " is outside of the mix");
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder spec = new StringBuilder();
+        for (int i = 0; i < endpoints.size(); i++) {
+            int weight = cumulativeWeights[i] - (i == 0 ? 0 : cumulativeWeights[i - 1]);
+            spec.append(i == 0 ? "" : ",").append(endpoints.get(i).key()).append('=').append(weight);
+        }
+        return spec.toString();
+    }
+}
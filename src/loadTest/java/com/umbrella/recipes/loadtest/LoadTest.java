@@ -0,0 +1,186 @@
+package com.umbrella.recipes.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.umbrella.recipes.RestRecipesProjectApplication;
+import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.RecipesRepository;
+import com.umbrella.recipes.persistence.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Starts the application on a random port, seeds it with a generated dataset and sends the configured endpoint mix
+ * from many concurrent clients, then prints throughput and latency percentiles per endpoint. Every client is a
+ * closed loop on its own virtual thread, authenticating as one of the seeded users with HTTP Basic. Run it with
+ * {@code ./gradlew loadTest}; see {@link LoadTestOptions} for the settings.
+ */
+public final class LoadTest {
+
+    private static final String PASSWORD = "loadtest1234";
+    private static final int CHUNK_SIZE = 500;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        System.out.println("Load test " + options);
+
+        PostgreSQLContainer<?> postgres = null;
+        SpringApplicationBuilder application = new SpringApplicationBuilder(RestRecipesProjectApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN", "logging.level.com.umbrella.recipes=WARN");
+        switch (options.database()) {
+            case "h2" -> application.profiles("h2");
+            case "postgres" -> {
+                postgres = new PostgreSQLContainer<>("postgres:16");
+                postgres.start();
+                application.properties("spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword());
+            }
+            default -> throw new IllegalArgumentException("Unknown database " + options.database());
+        }
+
+        try (ConfigurableApplicationContext context = application.run()) {
+            long start = System.nanoTime();
+            Dataset dataset = seed(context, options);
+            System.out.printf("Seeded %d users and %d recipes in %d ms%n", options.users(), options.recipes(),
+                    (System.nanoTime() - start) / 1_000_000);
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LoadTestReport report = run(URI.create("http://localhost:" + port), dataset, options);
+            report.print(System.out, options.duration());
+        } finally {
+            if (postgres != null) {
+                postgres.stop();
+            }
+        }
+    }
+
+    /**
+     * Stores the generated users and recipes through the repositories, in chunks of {@value #CHUNK_SIZE} recipes.
+     * Every user gets the same password, hashed once.
+     */
+    static Dataset seed(ConfigurableApplicationContext context, LoadTestOptions options) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        RecipesRepository recipesRepository = context.getBean(RecipesRepository.class);
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<UserModel> users = userRepository.saveAllAndFlush(IntStream.range(0, options.users())
+                .mapToObj(index -> new UserModel(DatasetGenerator.username(index), passwordHash, "ROLE_USER"))
+                .toList());
+
+        DatasetGenerator generator = new DatasetGenerator(options.seed(), options.users());
+        long[] recipeIds = new long[options.recipes()];
+        for (int offset = 0; offset < options.recipes(); offset += CHUNK_SIZE) {
+            List<RecipeModel> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (int i = offset; i < Math.min(offset + CHUNK_SIZE, options.recipes()); i++) {
+                DatasetGenerator.GeneratedRecipe recipe = generator.nextRecipe();
+                chunk.add(RecipeModel.builder()
+                        .name(recipe.name())
+                        .description(recipe.description())
+                        .category(recipe.category())
+                        .ingredients(new ArrayList<>(recipe.ingredients()))
+                        .directions(new ArrayList<>(recipe.directions()))
+                        .userModel(users.get(generator.nextOwner()))
+                        .build());
+            }
+            List<RecipeModel> saved = recipesRepository.saveAllAndFlush(chunk);
+            for (int i = 0; i < saved.size(); i++) {
+                recipeIds[offset + i] = saved.get(i).getRecipeId();
+            }
+        }
+        return new Dataset(options.users(), PASSWORD, recipeIds);
+    }
+
+    /**
+     * Sends requests from every client for the warmup and the measurement, recording only the latter.
+     */
+    static LoadTestReport run(URI baseUri, Dataset dataset, LoadTestOptions options) throws Exception {
+        LoadTestReport report = new LoadTestReport(options.mix().endpoints());
+        ObjectMapper objectMapper = new ObjectMapper();
+        long measureFrom = System.nanoTime() + options.warmup().toNanos();
+        long stopAt = measureFrom + options.duration().toNanos();
+
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < options.clients(); i++) {
+                int clientIndex = i;
+                futures.add(clients.submit(() -> {
+                    Random random = new Random(options.seed() * 31 + clientIndex);
+                    String authorization = "Basic " + Base64.getEncoder().encodeToString(
+                            (DatasetGenerator.username(clientIndex % dataset.users()) + ":" + dataset.password())
+                                    .getBytes(StandardCharsets.UTF_8));
+                    while (System.nanoTime() < stopAt) {
+                        Endpoint endpoint = options.mix().next(random);
+                        HttpRequest request = request(baseUri, endpoint, dataset, random, authorization, objectMapper);
+                        long start = System.nanoTime();
+                        boolean succeeded = send(client, request);
+                        long end = System.nanoTime();
+                        if (start >= measureFrom && end <= stopAt) {
+                            if (succeeded) {
+                                report.recordSuccess(endpoint, end - start);
+                            } else {
+                                report.recordError(endpoint);
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return report;
+    }
+
+    private static HttpRequest request(URI baseUri, Endpoint endpoint, Dataset dataset, Random random,
+                                       String authorization, ObjectMapper objectMapper) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(endpoint.path(dataset, random)))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", authorization);
+        if ("POST".equals(endpoint.method())) {
+            return request.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(
+                            objectMapper.writeValueAsBytes(DatasetGenerator.recipe(random))))
+                    .build();
+        }
+        return request.GET().build();
+    }
+
+    /**
+     * Sends the request and reads the whole response. Non-2xx responses and I/O failures count as errors.
+     */
+    private static boolean send(HttpClient client, HttpRequest request) throws InterruptedException {
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
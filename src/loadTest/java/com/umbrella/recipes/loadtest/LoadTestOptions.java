@@ -0,0 +1,35 @@
+package com.umbrella.recipes.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Settings of a load test run, read from {@code loadTest.*} system properties. The Gradle {@code loadTest} task passes
+ * every {@code -PloadTest.*} project property through.
+ *
+ * @param database The database to run against, {@code h2} or {@code postgres} (a Testcontainers container).
+ * @param seed     The seed of the dataset and of every client's request sequence.
+ * @param users    The number of generated users.
+ * @param recipes  The number of generated recipes.
+ * @param clients  The number of concurrent clients, each sending its next request once the previous one completed.
+ * @param warmup   How long to send requests before measuring.
+ * @param duration How long to measure.
+ * @param mix      The weighted endpoint mix, see {@link EndpointMix#parse(String)}.
+ */
+public record LoadTestOptions(String database, long seed, int users, int recipes, int clients, Duration warmup,
+                              Duration duration, EndpointMix mix) {
+
+    static final String DEFAULT_MIX =
+            "get=50,category=15,name=10,query=10,page=5,categories=5,create=5";
+
+    public static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(
+                System.getProperty("loadTest.database", "h2"),
+                Long.getLong("loadTest.seed", 42),
+                Integer.getInteger("loadTest.users", 100),
+                Integer.getInteger("loadTest.recipes", 20_000),
+                Integer.getInteger("loadTest.clients", 64),
+                Duration.ofSeconds(Long.getLong("loadTest.warmup", 15)),
+                Duration.ofSeconds(Long.getLong("loadTest.duration", 60)),
+                EndpointMix.parse(System.getProperty("loadTest.mix", DEFAULT_MIX)));
+    }
+}
@@ -0,0 +1,73 @@
+package com.umbrella.recipes.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies and errors per endpoint during the measured part of a run. Latencies are recorded in microseconds in
+ * HdrHistograms, so high percentiles are exact to three significant digits rather than sampled.
+ */
+public final class LoadTestReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicLong> errors = new EnumMap<>(Endpoint.class);
+
+    public LoadTestReport(Iterable<Endpoint> endpoints) {
+        for (Endpoint endpoint : endpoints) {
+            latencies.put(endpoint, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(endpoint, new AtomicLong());
+        }
+    }
+
+    public void recordSuccess(Endpoint endpoint, long elapsedNanos) {
+        latencies.get(endpoint).recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos),
+                HIGHEST_TRACKABLE_MICROS));
+    }
+
+    public void recordError(Endpoint endpoint) {
+        errors.get(endpoint).incrementAndGet();
+    }
+
+    /**
+     * Prints one line per endpoint and one for the whole mix.
+     *
+     * @param out      Where to print the report.
+     * @param measured How long the measurement lasted, to compute throughput.
+     */
+    public void print(PrintStream out, Duration measured) {
+        double seconds = measured.toNanos() / 1e9;
+        out.printf("%-12s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<Endpoint, Histogram> entry : latencies.entrySet()) {
+            Histogram histogram = entry.getValue().copy();
+            long endpointErrors = errors.get(entry.getKey()).get();
+            printLine(out, entry.getKey().key(), histogram, endpointErrors, seconds);
+            total.add(histogram);
+            totalErrors += endpointErrors;
+        }
+        printLine(out, "all", total, totalErrors, seconds);
+    }
+
+    private static void printLine(PrintStream out, String name, Histogram histogram, long errors, double seconds) {
+        out.printf("%-12s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                name, histogram.getTotalCount(), errors, (histogram.getTotalCount() + errors) / seconds,
+                millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
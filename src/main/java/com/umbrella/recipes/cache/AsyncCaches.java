@@ -0,0 +1,59 @@
+package com.umbrella.recipes.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Read-through lookups on a Caffeine {@link AsyncCache} whose loads run on the calling thread.
+ */
+public final class AsyncCaches {
+
+    private AsyncCaches() {
+    }
+
+    /**
+     * Returns the cached value, loading it on a miss. Concurrent misses for the same key share one load. Loader
+     * failures are rethrown as is and not cached.
+     * <p>
+     * The cache only maps the key to a pending future; the caller that created it runs the loader afterwards, on its
+     * own thread. A synchronous {@code Cache.get} would run the loader inside the map's synchronized bin lock and pin
+     * a virtual thread to its carrier for the whole load.
+     *
+     * @param cache  The cache to read.
+     * @param key    The key to look up.
+     * @param loader Loads the value on a cache miss.
+     * @return The cached or loaded value.
+     */
+    public static <K, V> V get(AsyncCache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> cached = cache.get(key, (k, executor) -> load);
+        if (cached == load) {
+            try {
+                load.complete(loader.apply(key));
+            } catch (Throwable e) {
+                load.completeExceptionally(e);
+            }
+        }
+        return join(cached);
+    }
+
+    /**
+     * Waits for a load started by this or a concurrent caller, rethrowing its failure as is.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.umbrella.recipes.config;
+
+import com.umbrella.recipes.persistence.QueryCountingInspector;
+import com.umbrella.recipes.web.filter.QueryCountFilter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration class for application metrics: {@code @Timed} service methods and per-request counts of JDBC
+ * statements and loaded entities.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Records a timer for every method annotated, or declared in a class annotated, with {@code @Timed}.
+     *
+     * @param meterRegistry The registry to record the timers in.
+     * @return The aspect applying {@code @Timed}.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Passes every statement Hibernate prepares through the QueryCountingInspector.
+     *
+     * @param inspector The inspector counting statements.
+     * @return The customizer setting Hibernate's statement inspector.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingHibernateCustomizer(QueryCountingInspector inspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    /**
+     * Registers the QueryCountingInspector for post-load events once the session factory has been built.
+     *
+     * @param entityManagerFactory The entity manager factory backed by Hibernate.
+     * @param inspector            The inspector counting loaded entities.
+     * @return The callback registering the listener.
+     */
+    @Bean
+    public SmartInitializingSingleton queryCountingLoadListener(EntityManagerFactory entityManagerFactory,
+                                                                QueryCountingInspector inspector) {
+        return () -> entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, inspector);
+    }
+
+    /**
+     * Registers the QueryCountFilter ahead of Spring Security, so statements run while authenticating are counted.
+     *
+     * @param meterRegistry The registry to record the counts in.
+     * @return The filter registration.
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+                new FilterRegistrationBean<>(new QueryCountFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,77 @@
+package com.umbrella.recipes.config;
+
+import com.umbrella.recipes.security.BearerTokenAuthenticationWebFilter;
+import com.umbrella.recipes.security.BearerTokenService;
+import org.springframework.boot.actuate.autoconfigure.security.reactive.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManagerAdapter;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+/**
+ * Configuration class for Spring Security on the reactive stack. Applies the same rules as
+ * {@link SecurityConfig#securityChain} and authenticates with the same AuthenticationManager, so the credential
+ * cache is shared. Only active with the {@code reactive} profile.
+ */
+@Configuration
+@Profile("reactive")
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    /**
+     * Adapts the blocking AuthenticationManager, which may load users from the database and run BCrypt, by running it
+     * on the bounded elastic scheduler instead of an event-loop thread.
+     *
+     * @param authenticationManager The AuthenticationManager provided by SecurityConfig.
+     * @return The ReactiveAuthenticationManager.
+     */
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(AuthenticationManager authenticationManager) {
+        return new ReactiveAuthenticationManagerAdapter(authenticationManager);
+    }
+
+    /**
+     * Configures the security filter chain for reactive HTTP requests.
+     *
+     * @param http                  The ServerHttpSecurity object for configuring security settings.
+     * @param authenticationManager The ReactiveAuthenticationManager used for HTTP Basic authentication.
+     * @param tokenService          The BearerTokenService, whose filter is added in front of HTTP Basic when enabled.
+     * @return The SecurityWebFilterChain that defines the security rules.
+     */
+    @Bean
+    public SecurityWebFilterChain reactiveSecurityChain(ServerHttpSecurity http,
+                                                        ReactiveAuthenticationManager authenticationManager,
+                                                        BearerTokenService tokenService) {
+        http.httpBasic(Customizer.withDefaults())
+                .csrf(ServerHttpSecurity.CsrfSpec::disable).headers(ServerHttpSecurity.HeaderSpec::disable)
+                .authorizeExchange(authorize -> authorize
+                        .pathMatchers(HttpMethod.POST, "/api/recipe/new").authenticated()
+                        .pathMatchers(HttpMethod.POST, "/api/recipe/import").authenticated()
+                        .pathMatchers(HttpMethod.PUT, "/api/recipe/{id}").authenticated()
+                        .pathMatchers(HttpMethod.DELETE, "/api/recipe/{id}").authenticated()
+                        .pathMatchers(HttpMethod.GET, "/api/recipe/{id}").authenticated()
+                        .pathMatchers(HttpMethod.GET, "/api/recipe/search").authenticated()
+                        .pathMatchers(HttpMethod.GET, "/api/categories").authenticated()
+                        .pathMatchers(HttpMethod.POST, "/api/login").authenticated()
+                        .pathMatchers(HttpMethod.POST, "/api/register").permitAll()
+                        .matchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .matchers(EndpointRequest.toAnyEndpoint()).hasRole(SecurityConfig.ACTUATOR_ROLE)
+                        .anyExchange().denyAll()
+                )
+                .authenticationManager(authenticationManager);
+
+        if (tokenService.isEnabled()) {
+            http.addFilterBefore(new BearerTokenAuthenticationWebFilter(tokenService), SecurityWebFiltersOrder.HTTP_BASIC);
+        }
+        return http.build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.umbrella.recipes.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Configuration class for the reactive stack. Only active with the {@code reactive} profile.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveWebConfig {
+
+    /**
+     * Serves the reactive stack on Reactor Netty. Tomcat is on the classpath for the servlet stack and would otherwise
+     * be preferred, tying every open connection to its connector's limits.
+     *
+     * @return The Netty server factory.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
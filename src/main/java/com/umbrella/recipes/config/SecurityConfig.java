@@ -1,11 +1,23 @@
 package com.umbrella.recipes.config;
 
 import com.umbrella.recipes.persistence.UserRepository;
+import com.umbrella.recipes.security.BearerTokenAuthenticationFilter;
+import com.umbrella.recipes.security.BearerTokenService;
+import com.umbrella.recipes.security.CachingAuthenticationProvider;
+import com.umbrella.recipes.security.UserDetailsCache;
+import com.umbrella.recipes.security.VerifiedCredentialCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -16,22 +28,32 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
 
 /**
- * Configuration class for Spring Security that provides user authentication and authorization.
+ * Configuration class for Spring Security that provides user authentication and authorization. The servlet filter
+ * chain is only set up without the {@code reactive} profile; {@link ReactiveSecurityConfig} secures the reactive stack
+ * with the same AuthenticationManager.
  */
 @Configuration
 @RequiredArgsConstructor
 @Slf4j
-@EnableWebSecurity
 public class SecurityConfig implements UserDetailsService {
 
+    /**
+     * Role required for every actuator endpoint but health, since metrics expose request patterns and user activity.
+     * It is granted by setting a user's authority to {@code ROLE_ACTUATOR} in the database.
+     */
+    static final String ACTUATOR_ROLE = "ACTUATOR";
+
     private final UserRepository repository;
+    private final UserDetailsCache userDetailsCache;
 
     /**
-     * Loads a user by the given username. This method is used for user authentication.
+     * Loads a user by the given username. This method is used for user authentication. Users are served from the
+     * UserDetailsCache, so the repository is only queried on a cache miss.
      *
      * @param username The username of the user to be loaded.
      * @return The UserDetails for the user.
@@ -39,10 +61,12 @@ public class SecurityConfig implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.info("Searching for user with username: {}", username);
-        return repository
-                .findAppUserByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return userDetailsCache.get(username, key -> {
+            log.debug("Searching for user with username: {}", key);
+            return repository
+                    .findAppUserByUsername(key)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        });
     }
 
     /**
@@ -50,27 +74,63 @@ public class SecurityConfig implements UserDetailsService {
      *
      * @param http         The HttpSecurity object for configuring security settings.
      * @param introspector The HandlerMappingIntrospector for request matching.
+     * @param authenticationManager The AuthenticationManager used for HTTP Basic authentication.
+     * @param tokenService The BearerTokenService, whose filter is added in front of HTTP Basic when enabled.
      * @return The SecurityFilterChain that defines the security rules.
      * @throws Exception if there is an error during configuration.
      */
     @Bean
-    public SecurityFilterChain securityChain(HttpSecurity http, HandlerMappingIntrospector introspector) throws Exception {
+    @Profile("!reactive")
+    public SecurityFilterChain securityChain(HttpSecurity http, HandlerMappingIntrospector introspector,
+                                             AuthenticationManager authenticationManager,
+                                             BearerTokenService tokenService) throws Exception {
         MvcRequestMatcher.Builder mvcB = new MvcRequestMatcher.Builder(introspector);
         http.httpBasic(Customizer.withDefaults())
                 .csrf(AbstractHttpConfigurer::disable).headers(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(mvcB.pattern(HttpMethod.POST, "/api/recipe/new")).authenticated()
+                        .requestMatchers(mvcB.pattern(HttpMethod.POST, "/api/recipe/import")).authenticated()
                         .requestMatchers(mvcB.pattern(HttpMethod.PUT, "/api/recipe/{id}")).authenticated()
                         .requestMatchers(mvcB.pattern(HttpMethod.DELETE, "/api/recipe/{id}")).authenticated()
                         .requestMatchers(mvcB.pattern(HttpMethod.GET, "/api/recipe/{id}")).authenticated()
                         .requestMatchers(mvcB.pattern(HttpMethod.GET, "/api/recipe/search")).authenticated()
+                        .requestMatchers(mvcB.pattern(HttpMethod.GET, "/api/categories")).authenticated()
+                        .requestMatchers(mvcB.pattern(HttpMethod.POST, "/api/login")).authenticated()
                         .requestMatchers(mvcB.pattern(HttpMethod.POST, "/api/register")).permitAll()
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole(ACTUATOR_ROLE)
                         .anyRequest().denyAll()
                 )
-                .userDetailsService(this);
+                .authenticationManager(authenticationManager);
+
+        if (tokenService.isEnabled()) {
+            http.addFilterBefore(new BearerTokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class);
+        }
         return http.build();
     }
 
+    /**
+     * Provides the AuthenticationManager for username/password authentication. Credentials that already passed a
+     * BCrypt check are served from the VerifiedCredentialCache, so only cache misses hit the database and BCrypt.
+     * Credentials are not erased after authentication because the cached principals are shared between requests.
+     *
+     * @param credentialCache The cache of already verified credentials.
+     * @param meterRegistry   The registry authentication times are recorded in.
+     * @return The AuthenticationManager backed by this UserDetailsService.
+     */
+    @Bean
+    public AuthenticationManager authenticationManager(VerifiedCredentialCache credentialCache,
+                                                       MeterRegistry meterRegistry) {
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider();
+        daoProvider.setUserDetailsService(this);
+        daoProvider.setPasswordEncoder(passwordEncoder());
+
+        ProviderManager providerManager = new ProviderManager(
+                new CachingAuthenticationProvider(daoProvider, credentialCache, meterRegistry));
+        providerManager.setEraseCredentialsAfterAuthentication(false);
+        return providerManager;
+    }
+
     /**
      * Provides a PasswordEncoder bean for encoding and verifying passwords.
      *
@@ -80,4 +140,13 @@ public class SecurityConfig implements UserDetailsService {
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
+
+    /**
+     * Enables servlet web security, kept apart so that it can be left out with the {@code reactive} profile.
+     */
+    @Profile("!reactive")
+    @EnableWebSecurity
+    @Configuration
+    static class ServletSecurityConfig {
+    }
 }
@@ -0,0 +1,51 @@
+package com.umbrella.recipes.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Configuration class for the threads requests and {@code @Async} tasks run on. By default Tomcat's bounded
+ * platform-thread pool and Spring Boot's task executor are used. With {@code recipes.threads.virtual=true}, set by the
+ * {@code virtual} profile, both run every request and task on its own virtual thread, so threads blocked on JDBC or
+ * BCrypt no longer exhaust a pool; the Hikari pool, sized for this mode by that profile, then becomes the limit on
+ * concurrent database work.
+ */
+@Slf4j
+@EnableAsync
+@Configuration
+public class ThreadingConfig {
+
+    /**
+     * Runs every Tomcat request on a new virtual thread.
+     *
+     * @return The customizer replacing the connector's executor.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "recipes.threads.virtual", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("Serving requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-vt-", 0).factory()));
+    }
+
+    /**
+     * Runs every {@code @Async} task on a new virtual thread. Replaces Spring Boot's pooled application task executor.
+     *
+     * @return The task executor.
+     */
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    @ConditionalOnProperty(name = "recipes.threads.virtual", havingValue = "true")
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-vt-", 0).factory()));
+    }
+}
@@ -1,15 +1,22 @@
 package com.umbrella.recipes.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import com.umbrella.recipes.persistence.RecipeIdGenerator;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
-
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Represents a recipe entity with various attributes including name, description, category,
@@ -25,7 +32,9 @@ import java.util.List;
 public class RecipeModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @GeneratedValue(generator = RecipeIdGenerator.SEQUENCE_NAME)
+    @GenericGenerator(name = RecipeIdGenerator.SEQUENCE_NAME, type = RecipeIdGenerator.class)
     private Long recipeId;
 
     @NotBlank(message = "Recipe name is mandatory")
@@ -37,22 +46,77 @@ public class RecipeModel {
     @NotBlank(message = "Recipe category is mandatory")
     private String category;
 
+    /**
+     * Canonical, case-insensitive form of {@link #category} that category searches and counts are keyed on. Written
+     * from the category before every insert and update; never set it directly.
+     */
+    @JsonIgnore
+    @Column(name = "category_key")
+    private String categoryKey;
+
     @UpdateTimestamp
     private LocalDateTime date;
 
+    /**
+     * Optimistic-locking version. Never bound from a request body: a client-supplied version would make Spring Data
+     * treat a new recipe as existing and merge it instead of persisting it. Clients send it as If-Match instead.
+     */
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 
+    /**
+     * Ingredients and directions are stored as JSON arrays in the recipe row, so a recipe is read from and written to a
+     * single row with no collection tables. Their order is the order of the array.
+     */
     @NotNull(message = "Recipe ingredients are mandatory")
     @Size(min = 1, message = "At least one ingredient is required")
-    @ElementCollection
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "ingredients_json", nullable = false)
     private List<String> ingredients;
 
-
     @NotNull(message = "Recipe directions are mandatory")
     @Size(min = 1, message = "At least one direction is required")
-    @ElementCollection
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "directions_json", nullable = false)
     private List<String> directions;
 
-    @ManyToOne
+    /**
+     * The owner of the recipe. Loaded lazily: ownership checks only need the username, which is the owner's ID and
+     * is read from the foreign key without loading the user.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "username")
     private UserModel userModel;
+
+    /**
+     * Normalizes a category to the key it is stored and searched under. Only leading and trailing spaces are removed,
+     * like SQL {@code lower(trim(category))} in the migrations that fill the key in for existing rows, so a category
+     * gets the same key whichever of them wrote it.
+     *
+     * @param category The category as entered.
+     * @return The trimmed, lower-cased category, or null if there is none.
+     */
+    public static String categoryKey(String category) {
+        if (category == null) {
+            return null;
+        }
+        int start = 0;
+        int end = category.length();
+        while (start < end && category.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && category.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return category.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void copyDerivedColumns() {
+        categoryKey = categoryKey(category);
+    }
 }
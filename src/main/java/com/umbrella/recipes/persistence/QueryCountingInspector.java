@@ -0,0 +1,25 @@
+package com.umbrella.recipes.persistence;
+
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate statement inspector and post-load listener that feed the {@link QueryCounts} of the current thread. The
+ * SQL is passed through unchanged.
+ */
+@Component
+public class QueryCountingInspector implements StatementInspector, PostLoadEventListener {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounts.statementPrepared();
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        QueryCounts.entityLoaded();
+    }
+}
@@ -0,0 +1,81 @@
+package com.umbrella.recipes.persistence;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Number of JDBC statements Hibernate prepared and entities it loaded on the current thread since {@link #start()}.
+ * Filled in by the {@link QueryCountingInspector}; threads that never called {@link #start()} are not counted. Work
+ * handed to another thread is only counted if that thread {@link #resume(QueryCounts) resumes} the same counts.
+ */
+public final class QueryCounts {
+
+    private static final ThreadLocal<QueryCounts> CURRENT = new ThreadLocal<>();
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong entities = new AtomicLong();
+
+    private QueryCounts() {
+    }
+
+    /**
+     * Starts counting on the current thread, discarding any previous counts.
+     *
+     * @return The counts, updated as statements run until {@link #stop()} is called.
+     */
+    public static QueryCounts start() {
+        QueryCounts counts = new QueryCounts();
+        CURRENT.set(counts);
+        return counts;
+    }
+
+    /**
+     * Returns the counts of the current thread, so they can be handed to a thread that continues its work.
+     *
+     * @return The counts, or null if the current thread is not counting.
+     */
+    public static QueryCounts current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Continues counting into counts started on another thread. Call {@link #stop()} when the work is done.
+     *
+     * @param counts The counts to add to, or null to not count on the current thread.
+     */
+    public static void resume(QueryCounts counts) {
+        if (counts == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(counts);
+        }
+    }
+
+    /**
+     * Stops counting on the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void statementPrepared() {
+        QueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.statements.incrementAndGet();
+        }
+    }
+
+    static void entityLoaded() {
+        QueryCounts counts = CURRENT.get();
+        if (counts != null) {
+            counts.entities.incrementAndGet();
+        }
+    }
+
+    public long statements() {
+        return statements.get();
+    }
+
+    public long entities() {
+        return entities.get();
+    }
+}
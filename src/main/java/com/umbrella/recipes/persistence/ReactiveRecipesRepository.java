@@ -0,0 +1,349 @@
+package com.umbrella.recipes.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.umbrella.recipes.model.RecipeModel;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.umbrella.recipes.persistence.RecipesRepository.VIEW_SELECT;
+
+/**
+ * Non-blocking access to the recipe tables over R2DBC, used by the reactive stack in place of
+ * {@link RecipesRepository}. Reads use the same {@link RecipesRepository#VIEW_SELECT} projection; writes store
+ * ingredients and directions in the JSON columns of the recipe row, like {@link RecipeModel} does for JPA. Only active
+ * with the {@code reactive} profile.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveRecipesRepository {
+
+    private static final String REVISION_SELECT = "SELECT r.recipe_id, r.version FROM recipe_model r ";
+    private static final String COUNT_SELECT = "SELECT COUNT(*) AS count FROM recipe_model r ";
+
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final int allocationSize;
+
+    /**
+     * Next unused ID of the block reserved by the last {@code nextval}, and the first ID past it. Guarded by this.
+     */
+    private long nextReservedId;
+    private long blockEnd;
+
+    public ReactiveRecipesRepository(ConnectionFactory connectionFactory, ObjectMapper objectMapper,
+                                     @Value("${spring.jpa.properties." + RecipeIdGenerator.ALLOCATION_SIZE_SETTING
+                                             + ":" + RecipeIdGenerator.DEFAULT_ALLOCATION_SIZE + "}")
+                                     int allocationSize) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.objectMapper = objectMapper;
+        this.allocationSize = allocationSize;
+    }
+
+    /**
+     * Owner, version and category key of a recipe, read to authorize and guard a write.
+     *
+     * @param username    The username of the recipe's owner.
+     * @param version     The value of the recipe's version column.
+     * @param categoryKey The recipe's category key.
+     */
+    public record RecipeOwner(String username, Long version, String categoryKey) {
+    }
+
+    /**
+     * Version and category key of a recipe after an update.
+     *
+     * @param version     The new value of the recipe's version column.
+     * @param categoryKey The recipe's category key after the update.
+     */
+    public record UpdatedRecipe(Long version, String categoryKey) {
+    }
+
+    public Mono<RecipeView> findViewById(Long id) {
+        return databaseClient.sql(VIEW_SELECT + "WHERE r.recipe_id = :id")
+                .bind("id", id)
+                .map(ReactiveRecipesRepository::toView)
+                .one();
+    }
+
+    public Flux<RecipeView> findViewsByCategory(String categoryKey) {
+        return databaseClient.sql(VIEW_SELECT
+                        + "WHERE r.category_key = :categoryKey ORDER BY r.date DESC, r.recipe_id DESC")
+                .bind("categoryKey", categoryKey)
+                .map(ReactiveRecipesRepository::toView)
+                .all();
+    }
+
+    public Flux<RecipeView> findViewsByName(String namePattern) {
+        return databaseClient.sql(VIEW_SELECT
+                        + "WHERE r.name ILIKE :namePattern ORDER BY r.date DESC, r.recipe_id DESC")
+                .bind("namePattern", namePattern)
+                .map(ReactiveRecipesRepository::toView)
+                .all();
+    }
+
+    /**
+     * Keyset page of a category search, see {@link RecipesRepository#findViewsByCategoryAfter}.
+     */
+    public Flux<RecipeView> findViewsByCategoryAfter(String categoryKey, LocalDateTime date, Long id, int limit) {
+        return databaseClient.sql(VIEW_SELECT + """
+                        WHERE r.category_key = :categoryKey AND (r.date, r.recipe_id) < (:date, :id)
+                        ORDER BY r.date DESC, r.recipe_id DESC
+                        LIMIT :limit
+                        """)
+                .bind("categoryKey", categoryKey)
+                .bind("date", date)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveRecipesRepository::toView)
+                .all();
+    }
+
+    /**
+     * Keyset page of a name search, see {@link RecipesRepository#findViewsByNameAfter}.
+     */
+    public Flux<RecipeView> findViewsByNameAfter(String namePattern, LocalDateTime date, Long id, int limit) {
+        return databaseClient.sql(VIEW_SELECT + """
+                        WHERE r.name ILIKE :namePattern AND (r.date, r.recipe_id) < (:date, :id)
+                        ORDER BY r.date DESC, r.recipe_id DESC
+                        LIMIT :limit
+                        """)
+                .bind("namePattern", namePattern)
+                .bind("date", date)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveRecipesRepository::toView)
+                .all();
+    }
+
+    /**
+     * ID and version of every recipe of a category, see {@link RecipesRepository#findRevisionsByCategory}.
+     */
+    public Flux<RecipeRevision> findRevisionsByCategory(String categoryKey) {
+        return databaseClient.sql(REVISION_SELECT
+                        + "WHERE r.category_key = :categoryKey ORDER BY r.date DESC, r.recipe_id DESC")
+                .bind("categoryKey", categoryKey)
+                .map(ReactiveRecipesRepository::toRevision)
+                .all();
+    }
+
+    /**
+     * ID and version of every recipe matching a name, see {@link RecipesRepository#findRevisionsByName}.
+     */
+    public Flux<RecipeRevision> findRevisionsByName(String namePattern) {
+        return databaseClient.sql(REVISION_SELECT
+                        + "WHERE r.name ILIKE :namePattern ORDER BY r.date DESC, r.recipe_id DESC")
+                .bind("namePattern", namePattern)
+                .map(ReactiveRecipesRepository::toRevision)
+                .all();
+    }
+
+    public Mono<Long> countByCategoryKey(String categoryKey) {
+        return databaseClient.sql(COUNT_SELECT + "WHERE r.category_key = :categoryKey")
+                .bind("categoryKey", categoryKey)
+                .map(row -> row.get("count", Long.class))
+                .one();
+    }
+
+    public Mono<Long> countByNamePattern(String namePattern) {
+        return databaseClient.sql(COUNT_SELECT + "WHERE r.name ILIKE :namePattern")
+                .bind("namePattern", namePattern)
+                .map(row -> row.get("count", Long.class))
+                .one();
+    }
+
+    public Mono<RecipeOwner> findOwnerById(Long id) {
+        return databaseClient.sql(
+                        "SELECT r.username, r.version, r.category_key FROM recipe_model r WHERE r.recipe_id = :id")
+                .bind("id", id)
+                .map(row -> new RecipeOwner(row.get("username", String.class), row.get("version", Long.class),
+                        row.get("category_key", String.class)))
+                .one();
+    }
+
+    /**
+     * Inserts a recipe. IDs are allocated from {@code recipe_id_seq} the way {@link RecipeIdGenerator} does: each
+     * {@code nextval} reserves a block of {@code allocation-size} IDs starting at the returned value, which are handed
+     * out before the sequence is read again. The blocks never overlap those JPA reserves.
+     *
+     * @param username The username of the recipe's owner.
+     * @param recipe   The recipe to insert.
+     * @return The ID of the inserted recipe.
+     */
+    public Mono<Long> insert(String username, RecipeModel recipe) {
+        String ingredients = toJson(recipe.getIngredients());
+        String directions = toJson(recipe.getDirections());
+        return nextId().flatMap(id -> {
+            DatabaseClient.GenericExecuteSpec insert = databaseClient.sql("""
+                            INSERT INTO recipe_model (recipe_id, name, description, category, category_key,
+                                                      date, version, ingredients_json, directions_json, username)
+                            VALUES (:id, :name, :description, :category, :categoryKey, :date, 0,
+                                    CAST(:ingredients AS jsonb), CAST(:directions AS jsonb), :username)
+                            """)
+                    .bind("id", id)
+                    .bind("date", LocalDateTime.now())
+                    .bind("ingredients", ingredients)
+                    .bind("directions", directions)
+                    .bind("username", username);
+            insert = bindNullable(insert, "name", recipe.getName());
+            insert = bindNullable(insert, "description", recipe.getDescription());
+            insert = bindNullable(insert, "category", recipe.getCategory());
+            insert = bindNullable(insert, "categoryKey", RecipeModel.categoryKey(recipe.getCategory()));
+            return insert.then().thenReturn(id);
+        });
+    }
+
+    private Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            Long id = takeReservedId();
+            if (id != null) {
+                return Mono.just(id);
+            }
+            return databaseClient.sql("SELECT nextval('" + RecipeIdGenerator.SEQUENCE_NAME + "') AS id")
+                    .map(row -> row.get("id", Long.class))
+                    .one()
+                    .map(this::reserveBlock);
+        });
+    }
+
+    private synchronized Long takeReservedId() {
+        return nextReservedId < blockEnd ? nextReservedId++ : null;
+    }
+
+    /**
+     * Replaces the reserved block with the one starting at the given sequence value.
+     *
+     * @return The first ID of the block, taken by the caller.
+     */
+    private synchronized long reserveBlock(long lo) {
+        nextReservedId = lo + 1;
+        blockEnd = lo + allocationSize;
+        return lo;
+    }
+
+    /**
+     * Updates the non-null fields of a recipe if it is still at the given version.
+     *
+     * @param id      The ID of the recipe to update.
+     * @param recipe  The new values; null fields are left unchanged.
+     * @param version The version the recipe must still be at.
+     * @return The recipe's new version and category key, or an empty Mono if its version has changed since.
+     */
+    public Mono<UpdatedRecipe> update(Long id, RecipeModel recipe, Long version) {
+        String ingredients = recipe.getIngredients() == null ? null : toJson(recipe.getIngredients());
+        String directions = recipe.getDirections() == null ? null : toJson(recipe.getDirections());
+        DatabaseClient.GenericExecuteSpec update = databaseClient.sql("""
+                        UPDATE recipe_model
+                        SET name = COALESCE(:name, name),
+                            description = COALESCE(:description, description),
+                            category = COALESCE(:category, category),
+                            category_key = COALESCE(:categoryKey, category_key),
+                            ingredients_json = COALESCE(CAST(:ingredients AS jsonb), ingredients_json),
+                            directions_json = COALESCE(CAST(:directions AS jsonb), directions_json),
+                            date = :date,
+                            version = version + 1
+                        WHERE recipe_id = :id AND version = :version
+                        RETURNING version, category_key
+                        """)
+                .bind("id", id)
+                .bind("version", version)
+                .bind("date", LocalDateTime.now());
+        update = bindNullable(update, "name", recipe.getName());
+        update = bindNullable(update, "description", recipe.getDescription());
+        update = bindNullable(update, "category", recipe.getCategory());
+        update = bindNullable(update, "categoryKey", RecipeModel.categoryKey(recipe.getCategory()));
+        update = bindNullable(update, "ingredients", ingredients);
+        update = bindNullable(update, "directions", directions);
+
+        return update.map(row -> new UpdatedRecipe(row.get("version", Long.class), row.get("category_key", String.class)))
+                .one();
+    }
+
+    public Mono<Void> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM recipe_model WHERE recipe_id = :id")
+                .bind("id", id)
+                .then();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                                  String value) {
+        return value == null ? spec.bindNull(name, String.class) : spec.bind(name, value);
+    }
+
+    private String toJson(List<String> steps) {
+        try {
+            return objectMapper.writeValueAsString(steps == null ? List.of() : steps);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize recipe steps", e);
+        }
+    }
+
+    private static RecipeView toView(Readable row) {
+        return new RecipeRow(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("description", String.class),
+                row.get("category", String.class),
+                row.get("date", LocalDateTime.class),
+                row.get("version", Long.class),
+                row.get("ingredients", String.class),
+                row.get("directions", String.class));
+    }
+
+    private static RecipeRevision toRevision(Readable row) {
+        return new RecipeRevision(row.get("recipe_id", Long.class), row.get("version", Long.class));
+    }
+
+    private record RecipeRow(Long id, String name, String description, String category, LocalDateTime date,
+                             Long version, String ingredients, String directions) implements RecipeView {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public String getCategory() {
+            return category;
+        }
+
+        @Override
+        public LocalDateTime getDate() {
+            return date;
+        }
+
+        @Override
+        public Long getVersion() {
+            return version;
+        }
+
+        @Override
+        public String getIngredients() {
+            return ingredients;
+        }
+
+        @Override
+        public String getDirections() {
+            return directions;
+        }
+    }
+}
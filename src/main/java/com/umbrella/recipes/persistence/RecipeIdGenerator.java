@@ -0,0 +1,37 @@
+package com.umbrella.recipes.persistence;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Generates recipe IDs from the dedicated {@code recipe_id_seq} sequence with the pooled-lo optimizer: every
+ * {@code nextval} reserves a block of IDs starting at the returned value, so inserts only reach the sequence once per
+ * block and can be sent as JDBC batches.
+ * <p>
+ * The block size is read from the {@value #ALLOCATION_SIZE_SETTING} setting (passed through
+ * {@code spring.jpa.properties}) and must equal the sequence's {@code INCREMENT BY}, which the Flyway migrations fix
+ * at 50. {@link RecipeIdSequenceCheck} fails startup otherwise.
+ */
+public class RecipeIdGenerator extends SequenceStyleGenerator {
+
+    public static final String SEQUENCE_NAME = "recipe_id_seq";
+    public static final String ALLOCATION_SIZE_SETTING = "recipes.id.allocation-size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        parameters.put(SEQUENCE_PARAM, SEQUENCE_NAME);
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.put(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
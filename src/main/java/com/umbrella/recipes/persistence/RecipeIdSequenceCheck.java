@@ -0,0 +1,65 @@
+package com.umbrella.recipes.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Checks once the application is ready that the {@code INCREMENT BY} of {@code recipe_id_seq} equals the
+ * {@value RecipeIdGenerator#ALLOCATION_SIZE_SETTING} setting. Both {@link RecipeIdGenerator} and
+ * {@link ReactiveRecipesRepository} hand out a block of that many IDs per {@code nextval}, so a smaller increment would
+ * let blocks overlap and inserts fail with duplicate keys. The increment is set by the Flyway migrations, so changing
+ * the setting takes a migration altering the sequence as well.
+ */
+@Slf4j
+@Component
+public class RecipeIdSequenceCheck {
+
+    private static final String INCREMENT_QUERY = """
+            SELECT CAST(s.increment AS bigint)
+            FROM information_schema.sequences s
+            WHERE s.sequence_schema = CURRENT_SCHEMA AND LOWER(s.sequence_name) = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int allocationSize;
+
+    public RecipeIdSequenceCheck(JdbcTemplate jdbcTemplate,
+                                 @Value("${spring.jpa.properties." + RecipeIdGenerator.ALLOCATION_SIZE_SETTING
+                                         + ":" + RecipeIdGenerator.DEFAULT_ALLOCATION_SIZE + "}")
+                                 int allocationSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.allocationSize = allocationSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkIncrement() {
+        checkIncrement(allocationSize);
+    }
+
+    /**
+     * Compares the sequence's increment with the given allocation size.
+     *
+     * @param allocationSize The number of IDs reserved per {@code nextval}.
+     * @throws IllegalStateException if the sequence does not exist or its increment differs.
+     */
+    public void checkIncrement(int allocationSize) {
+        List<Long> increments = jdbcTemplate.queryForList(INCREMENT_QUERY, Long.class, RecipeIdGenerator.SEQUENCE_NAME);
+        if (increments.isEmpty()) {
+            throw new IllegalStateException("Sequence " + RecipeIdGenerator.SEQUENCE_NAME + " does not exist");
+        }
+        long increment = increments.get(0);
+        if (increment != allocationSize) {
+            throw new IllegalStateException("spring.jpa.properties." + RecipeIdGenerator.ALLOCATION_SIZE_SETTING
+                    + " is " + allocationSize + " but sequence " + RecipeIdGenerator.SEQUENCE_NAME
+                    + " increments by " + increment + "; add a migration altering the sequence's INCREMENT BY or "
+                    + "set the property to " + increment);
+        }
+        log.debug("Sequence {} increments by the allocation size of {}", RecipeIdGenerator.SEQUENCE_NAME, increment);
+    }
+}
@@ -0,0 +1,20 @@
+package com.umbrella.recipes.persistence;
+
+/**
+ * ID and optimistic-locking version of a recipe, the smallest projection that identifies the state of a search result.
+ *
+ * @param recipeId The ID of the recipe.
+ * @param version  The value of the recipe's version column.
+ */
+public record RecipeRevision(Long recipeId, Long version) {
+
+    /**
+     * The revision of an already fetched recipe.
+     *
+     * @param view The recipe as read.
+     * @return Its ID and version.
+     */
+    public static RecipeRevision of(RecipeView view) {
+        return new RecipeRevision(view.getId(), view.getVersion());
+    }
+}
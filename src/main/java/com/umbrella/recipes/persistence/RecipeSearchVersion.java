@@ -0,0 +1,80 @@
+package com.umbrella.recipes.persistence;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Fingerprint of the recipes matched by a search: a SHA-256 digest of the ID and version of every matched recipe, in
+ * result order. Every write increments the version of the recipe it touches, and inserts, deletes and recipes moving
+ * in or out of the result change the list of IDs, so any change to the result changes the fingerprint. It is served as
+ * a weak entity tag, since the JSON and NDJSON representations of a search share it. No Last-Modified time is given:
+ * deleting a matched recipe, or moving it out of the result, does not raise the update timestamp of any recipe that is
+ * left, so If-Modified-Since could not detect a shrinking result.
+ *
+ * @param count  The number of matched recipes.
+ * @param digest The URL-safe Base64 digest of the matched revisions, or null if nothing matched.
+ */
+public record RecipeSearchVersion(int count, String digest) implements ResourceVersion {
+
+    private static final int DIGEST_LENGTH = 16;
+
+    /**
+     * Fingerprints a search result.
+     *
+     * @param revisions The ID and version of every matched recipe, in result order.
+     * @return The fingerprint of the result.
+     */
+    public static RecipeSearchVersion of(List<RecipeRevision> revisions) {
+        if (revisions.isEmpty()) {
+            return new RecipeSearchVersion(0, null);
+        }
+        MessageDigest sha256 = sha256();
+        ByteBuffer pair = ByteBuffer.allocate(2 * Long.BYTES);
+        for (RecipeRevision revision : revisions) {
+            pair.clear();
+            pair.putLong(revision.recipeId()).putLong(revision.version());
+            sha256.update(pair.array());
+        }
+        byte[] digest = Arrays.copyOf(sha256.digest(), DIGEST_LENGTH);
+        return new RecipeSearchVersion(revisions.size(),
+                Base64.getUrlEncoder().withoutPadding().encodeToString(digest));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Whether the search matched no recipes.
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Weak entity tag of the search result, or {@code W/"0"} if nothing matched.
+     */
+    @Override
+    public String eTag() {
+        if (isEmpty()) {
+            return "W/\"0\"";
+        }
+        return "W/\"" + Integer.toHexString(count) + "-" + digest + "\"";
+    }
+
+    /**
+     * Always -1, search results are validated by their entity tag alone.
+     */
+    @Override
+    public long lastModifiedMillis() {
+        return -1;
+    }
+}
@@ -0,0 +1,34 @@
+package com.umbrella.recipes.persistence;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Optimistic-locking version of a single recipe, selected from the recipe table alone.
+ *
+ * @param recipeId     The ID of the recipe.
+ * @param version      The value of the recipe's version column.
+ * @param lastModified The update timestamp of the recipe.
+ */
+public record RecipeVersion(Long recipeId, Long version, LocalDateTime lastModified) implements ResourceVersion {
+
+    /**
+     * Formats a recipe version as a strong entity tag.
+     *
+     * @param version The value of the recipe's version column.
+     * @return The version in double quotes.
+     */
+    public static String eTagOf(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    @Override
+    public String eTag() {
+        return eTagOf(version);
+    }
+
+    @Override
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,27 @@
+package com.umbrella.recipes.persistence;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a recipe as selected by {@link RecipesRepository#VIEW_SELECT}. Ingredients and directions
+ * are returned as JSON array text, read from the {@code ingredients_json} and {@code directions_json} columns of the
+ * recipe row.
+ */
+public interface RecipeView {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    String getCategory();
+
+    LocalDateTime getDate();
+
+    Long getVersion();
+
+    String getIngredients();
+
+    String getDirections();
+}
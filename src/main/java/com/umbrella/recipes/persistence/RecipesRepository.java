@@ -1,32 +1,163 @@
 package com.umbrella.recipes.persistence;
 
 import com.umbrella.recipes.model.RecipeModel;
-import org.springframework.data.jpa.repository.EntityGraph;
+import com.umbrella.recipes.web.dto.CategoryCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Repository for recipes. Reads select straight into {@link RecipeView} and record projections rather than entities,
+ * and every query declared here runs in a read-only transaction: Hibernate keeps no snapshots for dirty checking and
+ * never flushes, and the connection is marked read-only. Writes go through the inherited, read-write CRUD methods.
+ */
 @Repository
+@Transactional(readOnly = true)
 public interface RecipesRepository extends JpaRepository<RecipeModel, Long> {
 
-    @EntityGraph(attributePaths = {"ingredients"})
-    @Query("SELECT r FROM RecipeModel r LEFT JOIN FETCH r.ingredients WHERE r.recipeId = :id")
-    Optional<RecipeModel> findByIdWithIngredients(Long id);
+    /**
+     * Selects the recipe columns together with its ingredients and directions as JSON array text, read from the JSON
+     * columns of the recipe row, so a {@link RecipeView} is a single-row read.
+     */
+    String VIEW_SELECT = """
+            SELECT r.recipe_id AS id, r.name AS name, r.description AS description, r.category AS category,
+                   r.date AS date, r.version AS version,
+                   CAST(r.ingredients_json AS VARCHAR) AS ingredients,
+                   CAST(r.directions_json AS VARCHAR) AS directions
+            FROM recipe_model r
+            """;
 
-    @EntityGraph(attributePaths = {"directions"})
-    @Query("SELECT r FROM RecipeModel r LEFT JOIN FETCH r.directions WHERE r.recipeId = :id")
-    Optional<RecipeModel> findByIdWithDirections(Long id);
+    String STREAM_FETCH_SIZE = "256";
 
-    default Optional<RecipeModel> findByIdEager(Long id) {
-        Optional<RecipeModel> recipeWithIngredients = findByIdWithIngredients(id);
-        Optional<RecipeModel> recipeWithDirections = findByIdWithDirections(id);
-        recipeWithIngredients.ifPresent(recipeModel -> recipeModel.setDirections(recipeWithDirections.get().getDirections()));
-        return recipeWithIngredients;
-    }
+    @Query(nativeQuery = true, value = VIEW_SELECT + "WHERE r.recipe_id = :id")
+    Optional<RecipeView> findViewById(Long id);
 
-    Optional<List<RecipeModel>> findByCategoryIgnoreCaseOrderByDateDesc(String category);
-    Optional<List<RecipeModel>> findByNameContainingIgnoreCaseOrderByDateDesc(String name);
+    @Query("SELECT new com.umbrella.recipes.persistence.RecipeVersion(r.recipeId, r.version, r.date) "
+            + "FROM RecipeModel r WHERE r.recipeId = :id")
+    Optional<RecipeVersion> findVersionById(Long id);
+
+    /**
+     * Selects the ID and version of every recipe of a category, in the order of {@link #findViewsByCategory}, without
+     * reading the JSON columns.
+     */
+    @Query("SELECT new com.umbrella.recipes.persistence.RecipeRevision(r.recipeId, r.version) "
+            + "FROM RecipeModel r WHERE r.categoryKey = :categoryKey ORDER BY r.date DESC, r.recipeId DESC")
+    List<RecipeRevision> findRevisionsByCategory(String categoryKey);
+
+    /**
+     * Selects the ID and version of every recipe matching a name, see {@link #findRevisionsByCategory}.
+     */
+    @Query("SELECT new com.umbrella.recipes.persistence.RecipeRevision(r.recipeId, r.version) "
+            + "FROM RecipeModel r WHERE r.name ILIKE :namePattern ORDER BY r.date DESC, r.recipeId DESC")
+    List<RecipeRevision> findRevisionsByName(String namePattern);
+
+    @Query("SELECT COUNT(r) FROM RecipeModel r WHERE r.categoryKey = :categoryKey")
+    long countByCategoryKey(String categoryKey);
+
+    @Query("SELECT COUNT(r) FROM RecipeModel r WHERE r.name ILIKE :namePattern")
+    long countByNamePattern(String namePattern);
+
+    @Query("SELECT new com.umbrella.recipes.web.dto.CategoryCount(r.categoryKey, COUNT(r)) "
+            + "FROM RecipeModel r WHERE r.categoryKey IS NOT NULL GROUP BY r.categoryKey")
+    List<CategoryCount> countByCategory();
+
+    @Query(nativeQuery = true, value = VIEW_SELECT
+            + "WHERE r.category_key = :categoryKey ORDER BY r.date DESC, r.recipe_id DESC")
+    List<RecipeView> findViewsByCategory(String categoryKey);
+
+    @Query(nativeQuery = true, value = VIEW_SELECT
+            + "WHERE r.name ILIKE :namePattern ORDER BY r.date DESC, r.recipe_id DESC")
+    List<RecipeView> findViewsByName(String namePattern);
+
+    /**
+     * Fetches the given recipes in one statement, in no particular order; callers restore the order they need.
+     */
+    @Query(nativeQuery = true, value = VIEW_SELECT + "WHERE r.recipe_id IN (:ids)")
+    List<RecipeView> findViewsByIds(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(nativeQuery = true, value = VIEW_SELECT)
+    Stream<RecipeView> streamAllViews();
+
+    /**
+     * Streams a category search through a forward-only cursor. Must be consumed inside a transaction so that the
+     * driver honours the fetch size instead of materializing the whole result.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(nativeQuery = true, value = VIEW_SELECT
+            + "WHERE r.category_key = :categoryKey ORDER BY r.date DESC, r.recipe_id DESC")
+    Stream<RecipeView> streamViewsByCategory(String categoryKey);
+
+    /**
+     * Streams a name search, see {@link #streamViewsByCategory}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(nativeQuery = true, value = VIEW_SELECT
+            + "WHERE r.name ILIKE :namePattern ORDER BY r.date DESC, r.recipe_id DESC")
+    Stream<RecipeView> streamViewsByName(String namePattern);
+
+    /**
+     * Keyset page of a category search: the {@code limit} newest recipes strictly after the {@code (date, id)} key of
+     * the last recipe of the previous page, so the cost of a page does not depend on how deep it is.
+     */
+    @Query(nativeQuery = true, value = VIEW_SELECT + """
+            WHERE r.category_key = :categoryKey AND (r.date, r.recipe_id) < (:date, :id)
+            ORDER BY r.date DESC, r.recipe_id DESC
+            LIMIT :limit
+            """)
+    List<RecipeView> findViewsByCategoryAfter(String categoryKey, LocalDateTime date, Long id, int limit);
+
+    /**
+     * Keyset page of a name search, see {@link #findViewsByCategoryAfter}.
+     */
+    @Query(nativeQuery = true, value = VIEW_SELECT + """
+            WHERE r.name ILIKE :namePattern AND (r.date, r.recipe_id) < (:date, :id)
+            ORDER BY r.date DESC, r.recipe_id DESC
+            LIMIT :limit
+            """)
+    List<RecipeView> findViewsByNameAfter(String namePattern, LocalDateTime date, Long id, int limit);
+
+    /**
+     * Relevance-ranked PostgreSQL full-text search over name, description and ingredients. Each branch of the id
+     * union matches the expression of a GIN index, created by the {@code V1__baseline} and
+     * {@code V4__store_steps_as_json} migrations.
+     */
+    @Query(nativeQuery = true, value = VIEW_SELECT + """
+            WHERE r.recipe_id IN (
+                    SELECT m.recipe_id FROM recipe_model m
+                    WHERE to_tsvector('english', m.name || ' ' || m.description) @@ websearch_to_tsquery('english', :query)
+                    UNION
+                    SELECT i.recipe_id FROM recipe_model i
+                    WHERE jsonb_to_tsvector('english', i.ingredients_json, '["string"]')
+                          @@ websearch_to_tsquery('english', :query))
+            ORDER BY ts_rank(setweight(to_tsvector('english', r.name), 'A')
+                             || setweight(to_tsvector('english', r.description), 'B'),
+                             websearch_to_tsquery('english', :query)) DESC,
+                     r.date DESC
+            LIMIT :limit
+            """)
+    List<RecipeView> findViewsByFullText(String query, int limit);
+
+    /**
+     * Portable keyword search over name, description and ingredients, ranking name matches first. Used where
+     * PostgreSQL full-text search is not available, such as the embedded H2 profile. Ingredients are matched against
+     * the JSON text of the whole list.
+     */
+    @Query(nativeQuery = true, value = VIEW_SELECT + """
+            WHERE r.name ILIKE :pattern OR r.description ILIKE :pattern
+               OR CAST(r.ingredients_json AS VARCHAR) ILIKE :pattern
+            ORDER BY CASE WHEN r.name ILIKE :pattern THEN 0 ELSE 1 END, r.date DESC
+            LIMIT :limit
+            """)
+    List<RecipeView> findViewsByKeyword(String pattern, int limit);
 }
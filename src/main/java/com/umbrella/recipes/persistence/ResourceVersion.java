@@ -0,0 +1,17 @@
+package com.umbrella.recipes.persistence;
+
+/**
+ * Version of a resource as exposed through the ETag and Last-Modified headers of a conditional request.
+ */
+public interface ResourceVersion {
+
+    /**
+     * Entity tag of the resource, including the surrounding quotes and the {@code W/} prefix if it is weak.
+     */
+    String eTag();
+
+    /**
+     * Last modification time in epoch milliseconds, or -1 if unknown.
+     */
+    long lastModifiedMillis();
+}
@@ -0,0 +1,89 @@
+package com.umbrella.recipes.search;
+
+import com.umbrella.recipes.persistence.RecipeView;
+import com.umbrella.recipes.persistence.RecipesRepository;
+import com.umbrella.recipes.service.RecipeChangedEvent;
+import com.umbrella.recipes.web.dto.RecipeDTO;
+import com.umbrella.recipes.web.mapper.RecipeMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps a {@link RecipeSearchIndex} over recipe names, categories and ingredients in sync with the database. The index
+ * is built in the background once the application is ready and then updated from committed
+ * {@link RecipeChangedEvent}s. Only active with {@code recipes.search.backend=index}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "recipes.search.backend", havingValue = "index")
+public class InMemoryRecipeSearch {
+
+    private final RecipesRepository recipesRepository;
+    private final RecipeMapper recipeMapper;
+    private final RecipeSearchIndex index = new RecipeSearchIndex();
+
+    private volatile boolean ready;
+
+    /**
+     * Builds the index from all recipes on the application task executor ({@code @Async} is enabled by
+     * {@link com.umbrella.recipes.config.ThreadingConfig}). Recipes changed while the table is being read are
+     * re-indexed from their events once the build completes.
+     */
+    @Async
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        long start = System.nanoTime();
+        index.rebuild(() -> recipesRepository.streamAllViews().map(this::toDocument));
+        ready = true;
+        log.info("Built recipe search index with {} recipes and {} tokens in {} ms", index.documentCount(),
+                index.tokenCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() == RecipeChangedEvent.Type.DELETED) {
+            index.remove(event.recipeId());
+            return;
+        }
+        recipesRepository.findViewById(event.recipeId())
+                .ifPresentOrElse(recipeView -> index.index(toDocument(recipeView)), () -> index.remove(event.recipeId()));
+    }
+
+    /**
+     * Whether the index has been built and can answer searches.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds the recipes containing every token of the query.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of IDs to return.
+     * @return Up to {@code limit} matching recipe IDs, most recently created first.
+     */
+    public long[] search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    private RecipeSearchIndex.Document toDocument(RecipeView recipeView) {
+        RecipeDTO recipe = recipeMapper.toDTO(recipeView);
+        List<String> texts = new ArrayList<>(recipe.ingredients());
+        texts.add(recipe.name());
+        texts.add(recipe.category());
+        return new RecipeSearchIndex.Document(recipeView.getId(), texts);
+    }
+}
@@ -0,0 +1,109 @@
+package com.umbrella.recipes.search;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Immutable, sorted set of recipe IDs stored as delta-encoded varints. Consecutive IDs usually differ by a small
+ * amount, so most entries take one or two bytes instead of the 8 bytes of a long, or the ~24 bytes of a boxed Long.
+ */
+final class PostingList {
+
+    static final PostingList EMPTY = new PostingList(new byte[0], 0, 0L);
+
+    private final byte[] data;
+    private final int size;
+    private final long last;
+
+    private PostingList(byte[] data, int size, long last) {
+        this.data = data;
+        this.size = size;
+        this.last = last;
+    }
+
+    /**
+     * Encodes the first {@code length} IDs of the given array, which must be sorted ascending and free of duplicates.
+     */
+    static PostingList fromSorted(long[] ids, int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length * 2);
+        long previous = 0;
+        for (int i = 0; i < length; i++) {
+            writeVarLong(out, ids[i] - previous);
+            previous = ids[i];
+        }
+        return new PostingList(out.toByteArray(), length, previous);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        long[] ids = new long[size];
+        int position = 0;
+        long previous = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            previous += delta;
+            ids[i] = previous;
+        }
+        return ids;
+    }
+
+    /**
+     * Returns a posting list that also contains the given ID. Appending an ID larger than all others, the common case
+     * for newly created recipes, only encodes the new delta.
+     */
+    PostingList with(long id) {
+        if (size == 0 || id > last) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length + 2);
+            out.writeBytes(data);
+            writeVarLong(out, id - last);
+            return new PostingList(out.toByteArray(), size + 1, id);
+        }
+
+        long[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index >= 0) {
+            return this;
+        }
+        int insertAt = -index - 1;
+        long[] result = new long[size + 1];
+        System.arraycopy(ids, 0, result, 0, insertAt);
+        result[insertAt] = id;
+        System.arraycopy(ids, insertAt, result, insertAt + 1, size - insertAt);
+        return fromSorted(result, result.length);
+    }
+
+    /**
+     * Returns a posting list without the given ID.
+     */
+    PostingList without(long id) {
+        long[] ids = toArray();
+        int index = Arrays.binarySearch(ids, id);
+        if (index < 0) {
+            return this;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        return fromSorted(ids, size - 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
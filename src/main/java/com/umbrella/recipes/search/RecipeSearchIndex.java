@@ -0,0 +1,262 @@
+package com.umbrella.recipes.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index from lower-cased tokens to the IDs of the recipes containing them. Posting lists are
+ * immutable and swapped atomically, so searches never lock; updates are serialized, which is fine since recipes are
+ * written far less often than they are searched. A rebuild reads its documents without holding the lock and records
+ * the updates made meanwhile, which are replayed onto the new index when it is swapped in.
+ */
+public class RecipeSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final long[] NO_IDS = new long[0];
+
+    private volatile Map<String, PostingList> postings = new ConcurrentHashMap<>();
+    private volatile Map<Long, String[]> tokensByRecipe = new ConcurrentHashMap<>();
+
+    /**
+     * Updates made while a rebuild is reading its documents, or null if no rebuild is running. Guarded by this.
+     */
+    private List<Change> pendingChanges;
+
+    /**
+     * Document to be indexed.
+     *
+     * @param recipeId The ID of the recipe.
+     * @param texts    The texts whose tokens point to the recipe, such as name, category and ingredients.
+     */
+    public record Document(long recipeId, Collection<String> texts) {
+    }
+
+    /**
+     * Update recorded during a rebuild.
+     *
+     * @param recipeId The ID of the updated recipe.
+     * @param document The new document of the recipe, or null if it was removed.
+     */
+    private record Change(long recipeId, Document document) {
+    }
+
+    /**
+     * Replaces the whole index with the given documents. Posting lists are collected into primitive arrays and
+     * encoded once, instead of being re-encoded for every insert. The documents are read without holding the lock,
+     * so searches and updates continue against the old index meanwhile. Updates made after the stream is opened are
+     * replayed onto the new index before it is swapped in, so an update missing from the stream is not lost.
+     *
+     * @param documents Opens the stream of documents to index. It is opened once the index records updates, and
+     *                  closed before returning.
+     */
+    public void rebuild(Supplier<Stream<Document>> documents) {
+        synchronized (this) {
+            pendingChanges = new ArrayList<>();
+        }
+
+        Map<String, LongArrayBuilder> builders = new HashMap<>();
+        Map<Long, String[]> tokens = new ConcurrentHashMap<>();
+        try (Stream<Document> stream = documents.get()) {
+            stream.forEach(document -> {
+                String[] documentTokens = tokenize(document.texts());
+                tokens.put(document.recipeId(), documentTokens);
+                for (String token : documentTokens) {
+                    builders.computeIfAbsent(token, key -> new LongArrayBuilder()).add(document.recipeId());
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            throw e;
+        }
+        Map<String, PostingList> rebuilt = new ConcurrentHashMap<>();
+        builders.forEach((token, builder) -> rebuilt.put(token, builder.toPostingList()));
+
+        synchronized (this) {
+            List<Change> changes = pendingChanges;
+            pendingChanges = null;
+            tokensByRecipe = tokens;
+            postings = rebuilt;
+            for (Change change : changes) {
+                if (change.document() == null) {
+                    remove(change.recipeId());
+                } else {
+                    index(change.document());
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a recipe to the index, replacing any previously indexed version of it.
+     *
+     * @param document The document to index.
+     */
+    public synchronized void index(Document document) {
+        if (pendingChanges != null) {
+            pendingChanges.add(new Change(document.recipeId(), document));
+        }
+        removeTokens(document.recipeId());
+        String[] documentTokens = tokenize(document.texts());
+        for (String token : documentTokens) {
+            postings.merge(token, PostingList.EMPTY.with(document.recipeId()),
+                    (existing, ignored) -> existing.with(document.recipeId()));
+        }
+        tokensByRecipe.put(document.recipeId(), documentTokens);
+    }
+
+    /**
+     * Removes a recipe from the index.
+     *
+     * @param recipeId The ID of the recipe to remove.
+     */
+    public synchronized void remove(long recipeId) {
+        if (pendingChanges != null) {
+            pendingChanges.add(new Change(recipeId, null));
+        }
+        removeTokens(recipeId);
+    }
+
+    private void removeTokens(long recipeId) {
+        String[] documentTokens = tokensByRecipe.remove(recipeId);
+        if (documentTokens == null) {
+            return;
+        }
+        for (String token : documentTokens) {
+            postings.computeIfPresent(token, (key, postingList) -> {
+                PostingList remaining = postingList.without(recipeId);
+                return remaining.size() == 0 ? null : remaining;
+            });
+        }
+    }
+
+    /**
+     * Finds the recipes containing every token of the query.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of IDs to return.
+     * @return Up to {@code limit} matching recipe IDs, highest (most recently created) first.
+     */
+    public long[] search(String query, int limit) {
+        String[] queryTokens = tokenize(List.of(query));
+        if (queryTokens.length == 0) {
+            return NO_IDS;
+        }
+
+        PostingList[] lists = new PostingList[queryTokens.length];
+        for (int i = 0; i < queryTokens.length; i++) {
+            lists[i] = postings.get(queryTokens[i]);
+            if (lists[i] == null) {
+                return NO_IDS;
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+
+        long[] matches = lists[0].toArray();
+        int matchCount = matches.length;
+        for (int i = 1; i < lists.length && matchCount > 0; i++) {
+            matchCount = intersect(matches, matchCount, lists[i].toArray());
+        }
+
+        int resultSize = Math.min(limit, matchCount);
+        long[] result = new long[resultSize];
+        for (int i = 0; i < resultSize; i++) {
+            result[i] = matches[matchCount - 1 - i];
+        }
+        return result;
+    }
+
+    /**
+     * Number of distinct tokens in the index.
+     */
+    public int tokenCount() {
+        return postings.size();
+    }
+
+    /**
+     * Number of indexed recipes.
+     */
+    public int documentCount() {
+        return tokensByRecipe.size();
+    }
+
+    /**
+     * Intersects two sorted ID arrays in place, keeping the result in the first {@code leftCount} slots of
+     * {@code left}.
+     *
+     * @return The number of IDs left after the intersection.
+     */
+    private static int intersect(long[] left, int leftCount, long[] right) {
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < leftCount && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                left[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    static String[] tokenize(Collection<String> texts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+                if (token.length() >= MIN_TOKEN_LENGTH) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens.toArray(String[]::new);
+    }
+
+    /**
+     * Growable primitive long array used while rebuilding the index.
+     */
+    private static final class LongArrayBuilder {
+
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        PostingList toPostingList() {
+            Arrays.sort(values, 0, size);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinct == 0 || values[distinct - 1] != values[i]) {
+                    values[distinct++] = values[i];
+                }
+            }
+            return PostingList.fromSorted(values, distinct);
+        }
+    }
+}
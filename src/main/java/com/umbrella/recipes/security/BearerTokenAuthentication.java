@@ -0,0 +1,30 @@
+package com.umbrella.recipes.security;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Authentication established from a bearer token rather than a password. Kept apart from
+ * UsernamePasswordAuthenticationToken so that endpoints which must see the password, such as token login, can tell the
+ * two apart.
+ */
+public class BearerTokenAuthentication extends AbstractAuthenticationToken {
+
+    private final UserDetails principal;
+
+    public BearerTokenAuthentication(UserDetails principal) {
+        super(principal.getAuthorities());
+        this.principal = principal;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public UserDetails getPrincipal() {
+        return principal;
+    }
+}
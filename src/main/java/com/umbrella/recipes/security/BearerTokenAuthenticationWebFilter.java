@@ -0,0 +1,46 @@
+package com.umbrella.recipes.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Reactive counterpart of {@link BearerTokenAuthenticationFilter}, used by the {@code reactive} profile. Requests
+ * without a bearer token are passed on untouched, so HTTP Basic keeps working side by side, and invalid tokens are
+ * answered with 401 on every path.
+ */
+@RequiredArgsConstructor
+public class BearerTokenAuthenticationWebFilter implements WebFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final BearerTokenService tokenService;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return chain.filter(exchange);
+        }
+
+        Optional<UserDetails> user = tokenService.validate(header.substring(BEARER_PREFIX.length()).trim());
+        if (user.isEmpty()) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+            return response.setComplete();
+        }
+
+        return chain.filter(exchange).contextWrite(
+                ReactiveSecurityContextHolder.withAuthentication(new BearerTokenAuthentication(user.get())));
+    }
+}
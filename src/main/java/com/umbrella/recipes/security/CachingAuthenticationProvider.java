@@ -0,0 +1,69 @@
+package com.umbrella.recipes.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+
+/**
+ * AuthenticationProvider that answers repeated username/password authentications from the
+ * {@link VerifiedCredentialCache} and only falls back to the delegate (and therefore BCrypt) on a cache miss. Every
+ * authentication is timed as {@code recipes.auth}, tagged with whether the cache answered it and its outcome, so
+ * authentication time can be compared with the time spent in the RecipeService.
+ */
+@RequiredArgsConstructor
+public class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    public static final String TIMER_NAME = "recipes.auth";
+
+    private final AuthenticationProvider delegate;
+    private final VerifiedCredentialCache credentialCache;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String username = authentication.getName();
+        String rawPassword = String.valueOf(authentication.getCredentials());
+
+        Optional<UserDetails> cached = credentialCache.getIfVerified(username, rawPassword);
+        if (cached.isPresent()) {
+            UserDetails user = cached.get();
+            sample.stop(timer("hit", "success"));
+            return UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+        }
+
+        Authentication result;
+        try {
+            result = delegate.authenticate(authentication);
+        } catch (AuthenticationException e) {
+            sample.stop(timer("miss", "failure"));
+            throw e;
+        }
+        if (result != null && result.getPrincipal() instanceof UserDetails user) {
+            credentialCache.put(user, rawPassword);
+        }
+        sample.stop(timer("miss", "success"));
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    private Timer timer(String cache, String outcome) {
+        return Timer.builder(TIMER_NAME)
+                .description("Time to authenticate a username and password")
+                .tag("cache", cache)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
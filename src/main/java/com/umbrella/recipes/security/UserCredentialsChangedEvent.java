@@ -0,0 +1,10 @@
+package com.umbrella.recipes.security;
+
+/**
+ * Published whenever a user's password or authority is created or changed, so that any cached authentication state
+ * for that user can be dropped.
+ *
+ * @param username The username whose credentials changed.
+ */
+public record UserCredentialsChangedEvent(String username) {
+}
@@ -0,0 +1,75 @@
+package com.umbrella.recipes.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.umbrella.recipes.cache.AsyncCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, TTL-based cache of the principals returned by the UserDetailsService. Only an immutable copy of the
+ * username, password hash and authorities is kept, never the JPA entity and its lazy recipe collection.
+ */
+@Slf4j
+@Component
+public class UserDetailsCache {
+
+    public static final String CACHE_NAME = "auth.users";
+
+    private final AsyncCache<String, UserDetails> cache;
+
+    public UserDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${recipes.security.user-cache.max-size:10000}") long maxSize,
+                            @Value("${recipes.security.user-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached principal for the given user, loading it on a miss. Loader failures such as an unknown
+     * username are propagated and not cached. The query runs on the calling thread, outside the map's bin lock, see
+     * {@link AsyncCaches#get}.
+     *
+     * @param username The username to look up.
+     * @param loader   Loads the user details on a cache miss.
+     * @return An immutable copy of the user details.
+     */
+    public UserDetails get(String username, Function<String, ? extends UserDetails> loader) {
+        return AsyncCaches.get(cache, username, key -> toPrincipal(loader.apply(key)));
+    }
+
+    /**
+     * Drops the cached principal for the given user.
+     *
+     * @param username The username to evict.
+     */
+    public void evict(String username) {
+        cache.synchronous().invalidate(username);
+    }
+
+    @EventListener
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        log.debug("Evicting cached user details for user: {}", event.username());
+        evict(event.username());
+    }
+
+    private static UserDetails toPrincipal(UserDetails user) {
+        return User.withUsername(user.getUsername())
+                .password(user.getPassword())
+                .authorities(user.getAuthorities())
+                .build();
+    }
+}
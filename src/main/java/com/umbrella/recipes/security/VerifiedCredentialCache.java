@@ -0,0 +1,111 @@
+package com.umbrella.recipes.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-evicting cache of (username, credential digest) pairs that already passed a BCrypt check. Raw passwords
+ * are never stored, only an HMAC of them keyed with a random per-process secret, so a heap dump does not leak anything
+ * that can be replayed or brute forced offline.
+ */
+@Slf4j
+@Component
+public class VerifiedCredentialCache {
+
+    public static final String CACHE_NAME = "auth.credentials";
+    private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, VerifiedCredential> cache;
+    private final SecretKeySpec digestKey;
+
+    public VerifiedCredentialCache(MeterRegistry meterRegistry,
+                                   @Value("${recipes.security.credential-cache.max-size:10000}") long maxSize,
+                                   @Value("${recipes.security.credential-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, DIGEST_ALGORITHM);
+    }
+
+    /**
+     * Looks up a previously verified credential.
+     *
+     * @param username    The username being authenticated.
+     * @param rawPassword The raw password presented with the request.
+     * @return The cached user details if the same credentials were verified recently, or an empty Optional otherwise.
+     */
+    public Optional<UserDetails> getIfVerified(String username, String rawPassword) {
+        VerifiedCredential credential = cache.getIfPresent(username);
+        if (credential == null || !MessageDigest.isEqual(credential.digest(), digest(username, rawPassword))) {
+            return Optional.empty();
+        }
+        return Optional.of(credential.user());
+    }
+
+    /**
+     * Remembers that the given credentials were successfully verified.
+     *
+     * @param user        The authenticated user.
+     * @param rawPassword The raw password that was verified.
+     */
+    public void put(UserDetails user, String rawPassword) {
+        UserDetails withoutPassword = User.withUsername(user.getUsername())
+                .password("")
+                .authorities(user.getAuthorities())
+                .build();
+        cache.put(user.getUsername(), new VerifiedCredential(digest(user.getUsername(), rawPassword), withoutPassword));
+    }
+
+    /**
+     * Drops any verified credential for the given user.
+     *
+     * @param username The username to evict.
+     */
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    @EventListener
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        log.debug("Evicting verified credentials for user: {}", event.username());
+        evict(event.username());
+    }
+
+    private byte[] digest(String username, String rawPassword) {
+        try {
+            Mac mac = Mac.getInstance(DIGEST_ALGORITHM);
+            mac.init(digestKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(rawPassword.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to digest credentials", e);
+        }
+    }
+
+    private record VerifiedCredential(byte[] digest, UserDetails user) {
+    }
+}
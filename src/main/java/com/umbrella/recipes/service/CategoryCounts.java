@@ -0,0 +1,155 @@
+package com.umbrella.recipes.service;
+
+import com.umbrella.recipes.persistence.RecipesRepository;
+import com.umbrella.recipes.web.dto.CategoryCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory number of recipes per category key. The counts are loaded with one GROUP BY query on first use, then kept
+ * up to date from committed {@link RecipeChangedEvent}s, and reloaded once they are older than
+ * {@code recipes.categories.refresh} so that any drift, for example from writes by other instances, is corrected.
+ * <p>
+ * An event that arrives while the GROUP BY query runs may or may not be counted by it, so it is not applied to either
+ * map: the reloaded counts are published as they are and marked stale, and the next read loads them again.
+ */
+@Slf4j
+@Component
+public class CategoryCounts {
+
+    private static final Comparator<CategoryCount> BY_COUNT_THEN_NAME = Comparator
+            .comparingLong(CategoryCount::count).reversed()
+            .thenComparing(CategoryCount::category);
+
+    private final RecipesRepository recipesRepository;
+    private final Duration refreshInterval;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Map<String, Long> counts;
+    private boolean reloading;
+    private boolean changedDuringReload;
+    private volatile long loadedAt;
+    private volatile List<CategoryCount> snapshot;
+
+    public CategoryCounts(RecipesRepository recipesRepository,
+                          @Value("${recipes.categories.refresh:10m}") Duration refreshInterval) {
+        this.recipesRepository = recipesRepository;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Returns the number of recipes per category, largest first.
+     *
+     * @return An unmodifiable list of category counts.
+     */
+    public List<CategoryCount> getCounts() {
+        List<CategoryCount> current = snapshot;
+        if (isFresh(current)) {
+            return current;
+        }
+        return reload(current);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        lock.lock();
+        try {
+            if (Objects.equals(event.previousCategoryKey(), event.categoryKey())) {
+                return;
+            }
+            if (reloading) {
+                changedDuringReload = true;
+                return;
+            }
+            if (counts == null) {
+                return;
+            }
+            if (event.previousCategoryKey() != null) {
+                counts.computeIfPresent(event.previousCategoryKey(), (key, count) -> count > 1 ? count - 1 : null);
+            }
+            if (event.categoryKey() != null) {
+                counts.merge(event.categoryKey(), 1L, Long::sum);
+            }
+            snapshot = toSnapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reloads the counts from the database. Guarded by locks rather than {@code synchronized}, which would pin a
+     * virtual thread to its carrier for the duration of the query. The query runs under {@code reloadLock} only, so
+     * events are not held up by it. Callers that queued up behind a reload return the counts it loaded instead of
+     * querying again.
+     *
+     * @param seen The snapshot the caller found stale.
+     */
+    private List<CategoryCount> reload(List<CategoryCount> seen) {
+        reloadLock.lock();
+        try {
+            List<CategoryCount> current = snapshot;
+            if (current != seen || isFresh(current)) {
+                return current;
+            }
+
+            lock.lock();
+            try {
+                reloading = true;
+                changedDuringReload = false;
+            } finally {
+                lock.unlock();
+            }
+
+            long start = System.nanoTime();
+            Map<String, Long> loaded = new HashMap<>();
+            try {
+                recipesRepository.countByCategory().forEach(count -> loaded.put(count.category(), count.count()));
+            } catch (RuntimeException e) {
+                lock.lock();
+                try {
+                    reloading = false;
+                } finally {
+                    lock.unlock();
+                }
+                throw e;
+            }
+
+            lock.lock();
+            try {
+                reloading = false;
+                counts = loaded;
+                loadedAt = changedDuringReload ? start - refreshInterval.toNanos() : start;
+                snapshot = toSnapshot();
+                log.debug("Loaded recipe counts for {} categories in {} ms", loaded.size(),
+                        (System.nanoTime() - start) / 1_000_000);
+                return snapshot;
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private boolean isFresh(List<CategoryCount> current) {
+        return current != null && System.nanoTime() - loadedAt < refreshInterval.toNanos();
+    }
+
+    private List<CategoryCount> toSnapshot() {
+        return counts.entrySet().stream()
+                .map(entry -> new CategoryCount(entry.getKey(), entry.getValue()))
+                .sorted(BY_COUNT_THEN_NAME)
+                .toList();
+    }
+}
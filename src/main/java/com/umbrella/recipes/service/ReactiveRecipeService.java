@@ -0,0 +1,339 @@
+package com.umbrella.recipes.service;
+
+import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.persistence.ReactiveRecipesRepository;
+import com.umbrella.recipes.persistence.RecipeRevision;
+import com.umbrella.recipes.persistence.RecipeSearchVersion;
+import com.umbrella.recipes.persistence.RecipeVersion;
+import com.umbrella.recipes.persistence.RecipeView;
+import com.umbrella.recipes.web.dto.RecipeCursor;
+import com.umbrella.recipes.web.dto.RecipeDTO;
+import com.umbrella.recipes.web.dto.RecipePage;
+import com.umbrella.recipes.web.exception.RecipeNotFoundException;
+import com.umbrella.recipes.web.exception.RecipeVersionMismatchException;
+import com.umbrella.recipes.web.exception.UnauthorizedUserException;
+import com.umbrella.recipes.web.mapper.RecipeMapper;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.umbrella.recipes.service.RecipeService.containsPattern;
+
+/**
+ * Non-blocking counterpart of {@link RecipeService} for the reactive stack, reading and writing recipes over R2DBC.
+ * Results and errors match the blocking service, so both stacks serve the same API. Only active with the
+ * {@code reactive} profile.
+ */
+@Slf4j
+@Service
+@Profile("reactive")
+public class ReactiveRecipeService {
+
+    private final ReactiveRecipesRepository recipesRepository;
+    private final RecipeMapper recipeMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionalOperator transactionalOperator;
+    private final boolean notFoundOnEmpty;
+
+    /**
+     * The R2DBC transaction manager is kept private to this service rather than registered as a bean, which would
+     * stop Spring Boot from creating the JPA transaction manager the blocking services rely on.
+     */
+    public ReactiveRecipeService(ReactiveRecipesRepository recipesRepository, RecipeMapper recipeMapper,
+                                 ApplicationEventPublisher eventPublisher, ConnectionFactory connectionFactory,
+                                 @Value("${recipes.search.not-found-on-empty:true}") boolean notFoundOnEmpty) {
+        this.recipesRepository = recipesRepository;
+        this.recipeMapper = recipeMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+        this.notFoundOnEmpty = notFoundOnEmpty;
+    }
+
+    /**
+     * Retrieves a recipe together with the version it was read at, see {@link RecipeService#getVersionedRecipe}. The
+     * version is taken from the same row, so conditional requests need no separate version query.
+     *
+     * @param id The ID of the recipe to retrieve.
+     * @return The recipe and its version, or an error with RecipeNotFoundException if no recipe is found for the given
+     * ID.
+     */
+    public Mono<VersionedRecipe> getVersionedRecipe(Long id) {
+        return recipesRepository.findViewById(id)
+                .map(recipeView -> new VersionedRecipe(recipeMapper.toDTO(recipeView),
+                        new RecipeVersion(id, recipeView.getVersion(), recipeView.getDate())))
+                .switchIfEmpty(Mono.error(() -> {
+                    log.debug("Recipe not found for ID: {}", id);
+                    return new RecipeNotFoundException("Recipe not found for ID: " + id);
+                }));
+    }
+
+    /**
+     * Looks up the version of the result of {@link #searchRecipeByCategory}, see
+     * {@link RecipeService#searchRecipeVersionByCategory}.
+     *
+     * @param category The category to search for.
+     * @return The version of the result, or an empty Mono if no recipes match.
+     */
+    public Mono<RecipeSearchVersion> searchRecipeVersionByCategory(String category) {
+        return recipesRepository.findRevisionsByCategory(RecipeModel.categoryKey(category))
+                .collectList()
+                .map(RecipeSearchVersion::of)
+                .filter(v -> !v.isEmpty());
+    }
+
+    /**
+     * Looks up the version of the result of {@link #searchRecipeByName}, see
+     * {@link RecipeService#searchRecipeVersionByCategory}.
+     *
+     * @param name The name to search for.
+     * @return The version of the result, or an empty Mono if no recipes match.
+     */
+    public Mono<RecipeSearchVersion> searchRecipeVersionByName(String name) {
+        return recipesRepository.findRevisionsByName(containsPattern(name))
+                .collectList()
+                .map(RecipeSearchVersion::of)
+                .filter(v -> !v.isEmpty());
+    }
+
+    /**
+     * Creates a new recipe for the current user.
+     *
+     * @param currentUser The username of the currently authenticated user.
+     * @param recipe      The RecipeModel object representing the new recipe.
+     * @return The ID of the created recipe.
+     */
+    public Mono<Long> saveRecipe(String currentUser, RecipeModel recipe) {
+        return recipesRepository.insert(currentUser, recipe)
+                .map(id -> new Change<>(id, RecipeChangedEvent.created(id, RecipeModel.categoryKey(recipe.getCategory()))))
+                .as(transactionalOperator::transactional)
+                .transform(this::publishCommitted);
+    }
+
+    /**
+     * Updates an existing recipe for the current user, see {@link RecipeService#updateRecipe}.
+     *
+     * @param currentUser     The username of the currently authenticated user.
+     * @param id              The ID of the recipe to update.
+     * @param recipeRequest   The RecipeModel object representing the updated recipe.
+     * @param expectedVersion The version the client last read, from its If-Match header, or null to update any version.
+     * @return A ResponseEntity indicating the result of the update, carrying the new version as its ETag.
+     */
+    public Mono<ResponseEntity<String>> updateRecipe(String currentUser, Long id, RecipeModel recipeRequest,
+                                                     Long expectedVersion) {
+        return recipesRepository.findOwnerById(id)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Recipe not found for ID: {}", id);
+                    return new RecipeNotFoundException("Recipe not found for ID: " + id);
+                }))
+                .flatMap(owner -> {
+                    if (!owner.username().equals(currentUser)) {
+                        log.error("User {} is not authorized to update recipe with ID: {}", currentUser, id);
+                        return Mono.error(new UnauthorizedUserException(
+                                "User not authorized to update recipeRequest with ID: " + id));
+                    }
+                    if (expectedVersion != null && !expectedVersion.equals(owner.version())) {
+                        log.warn("Rejecting update of recipe {} at version {}, client expected version {}", id,
+                                owner.version(), expectedVersion);
+                        return Mono.error(new RecipeVersionMismatchException("Recipe with ID " + id
+                                + " has been modified, current version is " + owner.version()));
+                    }
+                    log.info("User {} is updating recipe with ID: {}", currentUser, id);
+                    return recipesRepository.update(id, recipeRequest, owner.version())
+                            .switchIfEmpty(Mono.error(() -> new OptimisticLockingFailureException(
+                                    "Recipe with ID " + id + " was updated concurrently")))
+                            .map(updated -> new Change<>(
+                                    ResponseEntity.status(HttpStatus.NO_CONTENT)
+                                            .eTag(RecipeVersion.eTagOf(updated.version()))
+                                            .<String>build(),
+                                    RecipeChangedEvent.updated(id, owner.categoryKey(), updated.categoryKey())));
+                })
+                .as(transactionalOperator::transactional)
+                .transform(this::publishCommitted);
+    }
+
+    /**
+     * Deletes a recipe for the current user by its unique identifier.
+     *
+     * @param currentUser The username of the currently authenticated user.
+     * @param id          The ID of the recipe to delete.
+     * @return A ResponseEntity indicating the result of the deletion.
+     */
+    public Mono<ResponseEntity<String>> deleteRecipe(String currentUser, Long id) {
+        return recipesRepository.findOwnerById(id)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Recipe not found for ID: {}", id);
+                    return new RecipeNotFoundException("Recipe not found for ID: " + id);
+                }))
+                .flatMap(owner -> {
+                    if (!owner.username().equals(currentUser)) {
+                        log.error("not authorized to delete recipe with ID: {}", id);
+                        return Mono.just(new Change<>(ResponseEntity.status(HttpStatus.FORBIDDEN).<String>build(), null));
+                    }
+                    return recipesRepository.deleteById(id)
+                            .then(Mono.fromRunnable(() -> log.info("Recipe with ID {} deleted.", id)))
+                            .thenReturn(new Change<>(ResponseEntity.status(HttpStatus.NO_CONTENT).<String>build(),
+                                    RecipeChangedEvent.deleted(id, owner.categoryKey())));
+                })
+                .as(transactionalOperator::transactional)
+                .transform(this::publishCommitted);
+    }
+
+    /**
+     * Publishes the event of a change once its transaction has committed. There is no thread-bound transaction on the
+     * reactive stack, so transactional event listeners run as soon as the event is published; publishing after the
+     * commit keeps them from seeing writes that may still roll back. They run on the bounded elastic scheduler, since
+     * listeners such as the in-memory search index make blocking JPA calls.
+     */
+    private <T> Mono<T> publishCommitted(Mono<Change<T>> changes) {
+        return changes.publishOn(Schedulers.boundedElastic())
+                .map(change -> {
+                    if (change.event() != null) {
+                        eventPublisher.publishEvent(change.event());
+                    }
+                    return change.result();
+                });
+    }
+
+    /**
+     * The result of a write together with the event to publish once it has committed.
+     *
+     * @param result The result of the write.
+     * @param event  The event to publish, or null if nothing changed.
+     */
+    private record Change<T>(T result, RecipeChangedEvent event) {
+    }
+
+    /**
+     * Searches for recipes by category, together with the version of the result.
+     *
+     * @param category The category to search for.
+     * @return The RecipeDTOs that match, empty if none do, and their version, or an error with RecipeNotFoundException
+     * if none do and {@code recipes.search.not-found-on-empty} is set.
+     */
+    public Mono<VersionedRecipes> searchRecipeByCategory(String category) {
+        return searchRecipes(category, recipesRepository.findViewsByCategory(RecipeModel.categoryKey(category)));
+    }
+
+    /**
+     * Searches for recipes by name, together with the version of the result.
+     *
+     * @param name The name to search for.
+     * @return The RecipeDTOs that match, empty if none do, and their version, or an error with RecipeNotFoundException
+     * if none do and {@code recipes.search.not-found-on-empty} is set.
+     */
+    public Mono<VersionedRecipes> searchRecipeByName(String name) {
+        return searchRecipes(name, recipesRepository.findViewsByName(containsPattern(name)));
+    }
+
+    /**
+     * Streams all recipes of a category. Rows are mapped and written as they arrive, with backpressure from the
+     * client, so neither memory use nor threads grow with the size of the result.
+     *
+     * @param category The category to search for.
+     * @return The matching recipes, newest first.
+     */
+    public Flux<RecipeDTO> streamRecipesByCategory(String category) {
+        return recipesRepository.findViewsByCategory(RecipeModel.categoryKey(category)).map(recipeMapper::toDTO);
+    }
+
+    /**
+     * Streams all recipes matching a name, see {@link #streamRecipesByCategory}.
+     *
+     * @param name The name to search for.
+     * @return The matching recipes, newest first.
+     */
+    public Flux<RecipeDTO> streamRecipesByName(String name) {
+        return recipesRepository.findViewsByName(containsPattern(name)).map(recipeMapper::toDTO);
+    }
+
+    /**
+     * Retrieves one keyset page of recipes by category.
+     *
+     * @param category The category to search for.
+     * @param limit    The maximum number of recipes on the page.
+     * @param cursor   The opaque cursor returned with the previous page, or null for the first page.
+     * @return The requested page and the cursor of the next one.
+     */
+    public Mono<RecipePage> searchRecipePageByCategory(String category, int limit, String cursor) {
+        return searchRecipePage(limit, cursor, (date, id, fetchSize) -> recipesRepository.findViewsByCategoryAfter(
+                        RecipeModel.categoryKey(category), date, id, fetchSize),
+                () -> recipesRepository.countByCategoryKey(RecipeModel.categoryKey(category)));
+    }
+
+    /**
+     * Retrieves one keyset page of recipes by name.
+     *
+     * @param name   The name to search for.
+     * @param limit  The maximum number of recipes on the page.
+     * @param cursor The opaque cursor returned with the previous page, or null for the first page.
+     * @return The requested page and the cursor of the next one.
+     */
+    public Mono<RecipePage> searchRecipePageByName(String name, int limit, String cursor) {
+        return searchRecipePage(limit, cursor, (date, id, fetchSize) -> recipesRepository.findViewsByNameAfter(
+                        containsPattern(name), date, id, fetchSize),
+                () -> recipesRepository.countByNamePattern(containsPattern(name)));
+    }
+
+    /**
+     * Fetches one keyset page, fetching one extra row to find out whether a next page exists. The first page carries
+     * the total number of matches, see {@link RecipeService#searchRecipePageByCategory}.
+     */
+    private Mono<RecipePage> searchRecipePage(int limit, String cursor, PageQuery pageQuery,
+                                              Supplier<Mono<Long>> countQuery) {
+        return Mono.fromSupplier(() -> RecipeCursor.decode(cursor))
+                .flatMap(position -> pageQuery.fetch(position.date(), position.recipeId(), limit + 1).collectList())
+                .flatMap(recipeViews -> {
+                    String next = null;
+                    if (recipeViews.size() > limit) {
+                        recipeViews = recipeViews.subList(0, limit);
+                        RecipeView last = recipeViews.get(limit - 1);
+                        next = new RecipeCursor(last.getDate(), last.getId()).encode();
+                    }
+                    List<RecipeDTO> recipes = recipeViews.stream().map(recipeMapper::toDTO).toList();
+                    if (cursor != null) {
+                        return Mono.just(new RecipePage(recipes, next));
+                    }
+                    if (next == null) {
+                        return Mono.just(new RecipePage(recipes, null, (long) recipes.size()));
+                    }
+                    String nextCursor = next;
+                    return countQuery.get().map(count -> new RecipePage(recipes, nextCursor, count));
+                });
+    }
+
+    private Mono<VersionedRecipes> searchRecipes(String searchTerm, Flux<RecipeView> recipeViews) {
+        log.debug("Searching for recipes with {}: {}", searchTerm, searchTerm);
+        return recipeViews.collectList()
+                .flatMap(views -> {
+                    if (views.isEmpty()) {
+                        log.debug("No recipes found for {}: {}", searchTerm, searchTerm);
+                        if (notFoundOnEmpty) {
+                            return Mono.error(new RecipeNotFoundException(
+                                    "No recipes found for " + searchTerm + ": " + searchTerm));
+                        }
+                    }
+                    return Mono.just(new VersionedRecipes(views.stream().map(recipeMapper::toDTO).toList(),
+                            RecipeSearchVersion.of(views.stream().map(RecipeRevision::of).toList())));
+                });
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        Flux<RecipeView> fetch(LocalDateTime date, Long id, int limit);
+    }
+}
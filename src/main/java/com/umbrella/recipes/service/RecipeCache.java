@@ -0,0 +1,77 @@
+package com.umbrella.recipes.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.umbrella.recipes.cache.AsyncCaches;
+import com.umbrella.recipes.web.dto.RecipeDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, TTL-based read-through cache of RecipeDTOs and their versions keyed by recipe ID. Entries are evicted
+ * once a {@link RecipeChangedEvent} for the recipe has been committed, so a reader never re-caches the state a rolled
+ * back or still running transaction is about to replace.
+ */
+@Slf4j
+@Component
+public class RecipeCache {
+
+    public static final String CACHE_NAME = "recipes.byId";
+
+    private final AsyncCache<Long, VersionedRecipe> cache;
+
+    public RecipeCache(MeterRegistry meterRegistry,
+                       @Value("${recipes.cache.max-size:10000}") long maxSize,
+                       @Value("${recipes.cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached recipe, loading it on a miss. Concurrent misses for the same ID share one load. Loader
+     * failures such as RecipeNotFoundException are propagated and not cached. The query runs on the calling thread,
+     * outside the map's bin lock, see {@link AsyncCaches#get}.
+     *
+     * @param id     The ID of the recipe.
+     * @param loader Loads the recipe on a cache miss.
+     * @return The recipe, with unmodifiable ingredient and direction lists, and its version.
+     */
+    public VersionedRecipe get(Long id, Function<Long, VersionedRecipe> loader) {
+        return AsyncCaches.get(cache, id, key -> freeze(loader.apply(key)));
+    }
+
+    /**
+     * Drops the cached recipe with the given ID.
+     *
+     * @param id The ID of the recipe to evict.
+     */
+    public void evict(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.type() != RecipeChangedEvent.Type.CREATED) {
+            log.debug("Evicting cached recipe with ID: {}", event.recipeId());
+            evict(event.recipeId());
+        }
+    }
+
+    private static VersionedRecipe freeze(VersionedRecipe versionedRecipe) {
+        RecipeDTO recipe = versionedRecipe.recipe();
+        return new VersionedRecipe(new RecipeDTO(recipe.name(), recipe.description(), recipe.category(), recipe.date(),
+                List.copyOf(recipe.ingredients()), List.copyOf(recipe.directions())), versionedRecipe.version());
+    }
+}
@@ -0,0 +1,32 @@
+package com.umbrella.recipes.service;
+
+/**
+ * Published by the RecipeService whenever a recipe is created, updated or deleted. Listeners that keep derived state,
+ * such as caches or search indexes, should use a transactional event listener so they only react once the change is
+ * committed.
+ *
+ * @param recipeId            The ID of the changed recipe.
+ * @param type                The kind of change.
+ * @param previousCategoryKey The category key before the change, or null for a created recipe.
+ * @param categoryKey         The category key after the change, or null for a deleted recipe.
+ */
+public record RecipeChangedEvent(Long recipeId, Type type, String previousCategoryKey, String categoryKey) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static RecipeChangedEvent created(Long recipeId, String categoryKey) {
+        return new RecipeChangedEvent(recipeId, Type.CREATED, null, categoryKey);
+    }
+
+    public static RecipeChangedEvent updated(Long recipeId, String previousCategoryKey, String categoryKey) {
+        return new RecipeChangedEvent(recipeId, Type.UPDATED, previousCategoryKey, categoryKey);
+    }
+
+    public static RecipeChangedEvent deleted(Long recipeId, String previousCategoryKey) {
+        return new RecipeChangedEvent(recipeId, Type.DELETED, previousCategoryKey, null);
+    }
+}
@@ -0,0 +1,174 @@
+package com.umbrella.recipes.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.RecipesRepository;
+import com.umbrella.recipes.persistence.UserRepository;
+import com.umbrella.recipes.web.dto.RecipeImportError;
+import com.umbrella.recipes.web.dto.RecipeImportResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for importing recipes in bulk. Recipes are read one at a time from a JSON array or an NDJSON stream,
+ * validated, and persisted in chunks, each chunk in its own transaction so that the inserts of a chunk are sent as
+ * JDBC batches. A rejected recipe is reported in the result and does not abort the rest of the import.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class RecipeImportService {
+
+    private final RecipesRepository recipesRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${recipes.import.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Imports recipes for the current user. Input that is not well-formed JSON stops the import at that point; the
+     * recipes read before it are still persisted and the position is reported as an error.
+     *
+     * @param currentUser The username of the currently authenticated user.
+     * @param in          A JSON array of recipes, or one JSON recipe per line.
+     * @return The number of recipes read and persisted, and the recipes that were rejected.
+     * @throws IOException      if the input cannot be read.
+     * @throws RuntimeException if the user is not found.
+     */
+    public RecipeImportResult importRecipes(String currentUser, InputStream in) throws IOException {
+        UserModel userModel = userRepository.findAppUserByUsername(currentUser).orElseThrow(() -> {
+            log.error("User not found for username: {}", currentUser);
+            return new RuntimeException("User not found");
+        });
+
+        List<RecipeImportError> errors = new ArrayList<>();
+        List<IndexedRecipe> chunk = new ArrayList<>(chunkSize);
+        int received = 0;
+        int imported = 0;
+        try (MappingIterator<JsonNode> nodes = objectMapper.readerFor(JsonNode.class).readValues(in)) {
+            while (nodes.hasNextValue()) {
+                JsonNode node = nodes.nextValue();
+                int index = received++;
+                RecipeModel recipe = readRecipe(index, node, errors);
+                if (recipe == null) {
+                    continue;
+                }
+                recipe.setUserModel(userModel);
+                chunk.add(new IndexedRecipe(index, recipe));
+                if (chunk.size() == chunkSize) {
+                    imported += persistChunk(chunk, errors);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Stopping import for user {} at recipe {}: {}", currentUser, received, e.getOriginalMessage());
+            errors.add(new RecipeImportError(received, "Malformed input, import stopped: " + e.getOriginalMessage()));
+        }
+        if (!chunk.isEmpty()) {
+            imported += persistChunk(chunk, errors);
+        }
+
+        errors.sort(Comparator.comparingInt(RecipeImportError::index));
+        log.info("User {} imported {} of {} recipes", currentUser, imported, received);
+        return new RecipeImportResult(received, imported, errors);
+    }
+
+    /**
+     * Converts and validates one recipe of the input. Client-supplied IDs and versions are ignored, so every imported
+     * recipe is inserted as a new one.
+     *
+     * @return The recipe, or null if it was rejected and added to the errors.
+     */
+    private RecipeModel readRecipe(int index, JsonNode node, List<RecipeImportError> errors) {
+        RecipeModel recipe;
+        try {
+            recipe = objectMapper.treeToValue(node, RecipeModel.class);
+        } catch (JsonProcessingException e) {
+            errors.add(new RecipeImportError(index, "Malformed recipe: " + e.getOriginalMessage()));
+            return null;
+        }
+
+        Set<ConstraintViolation<RecipeModel>> violations = validator.validate(recipe);
+        if (!violations.isEmpty()) {
+            errors.add(new RecipeImportError(index, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "))));
+            return null;
+        }
+
+        recipe.setRecipeId(null);
+        recipe.setVersion(null);
+        return recipe;
+    }
+
+    /**
+     * Persists a chunk in one transaction. If the chunk fails, its recipes are retried one per transaction so that
+     * only the offending ones are rejected.
+     *
+     * @return The number of recipes persisted.
+     */
+    private int persistChunk(List<IndexedRecipe> chunk, List<RecipeImportError> errors) {
+        try {
+            save(chunk);
+            return chunk.size();
+        } catch (DataAccessException e) {
+            log.warn("Import chunk of {} recipes failed, retrying one by one: {}", chunk.size(), e.getMessage());
+        }
+
+        int imported = 0;
+        for (IndexedRecipe indexedRecipe : chunk) {
+            try {
+                resetForRetry(indexedRecipe.recipe());
+                save(List.of(indexedRecipe));
+                imported++;
+            } catch (DataAccessException e) {
+                errors.add(new RecipeImportError(indexedRecipe.index(), e.getMostSpecificCause().getMessage()));
+            }
+        }
+        return imported;
+    }
+
+    /**
+     * Clears the state a rolled back persist left behind: the generated ID and the initial version.
+     */
+    private static void resetForRetry(RecipeModel recipe) {
+        recipe.setRecipeId(null);
+        recipe.setVersion(null);
+    }
+
+    private void save(List<IndexedRecipe> recipes) {
+        transactionTemplate.executeWithoutResult(status -> {
+            recipesRepository.saveAll(recipes.stream().map(IndexedRecipe::recipe).toList());
+            recipesRepository.flush();
+            recipes.stream().map(IndexedRecipe::recipe).forEach(recipe -> eventPublisher.publishEvent(
+                    RecipeChangedEvent.created(recipe.getRecipeId(), recipe.getCategoryKey())));
+        });
+    }
+
+    private record IndexedRecipe(int index, RecipeModel recipe) {
+    }
+}
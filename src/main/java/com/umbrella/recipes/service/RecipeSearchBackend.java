@@ -0,0 +1,23 @@
+package com.umbrella.recipes.service;
+
+/**
+ * Backends that can answer relevance-ranked recipe searches, selected with {@code recipes.search.backend}.
+ */
+public enum RecipeSearchBackend {
+
+    /**
+     * PostgreSQL full-text search backed by GIN indexes.
+     */
+    FULL_TEXT,
+
+    /**
+     * Portable case-insensitive LIKE matching, used with the embedded H2 database.
+     */
+    LIKE,
+
+    /**
+     * In-process inverted index over name, category and ingredients; only the matched IDs are fetched from the
+     * database.
+     */
+    INDEX
+}
@@ -1,55 +1,163 @@
 package com.umbrella.recipes.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.RecipeRevision;
+import com.umbrella.recipes.persistence.RecipeSearchVersion;
+import com.umbrella.recipes.persistence.RecipeVersion;
+import com.umbrella.recipes.persistence.RecipeView;
+import com.umbrella.recipes.search.InMemoryRecipeSearch;
 import com.umbrella.recipes.persistence.UserRepository;
+import com.umbrella.recipes.web.dto.CategoryCount;
+import com.umbrella.recipes.web.dto.RecipeCursor;
 import com.umbrella.recipes.web.dto.RecipeDTO;
+import com.umbrella.recipes.web.dto.RecipePage;
 import com.umbrella.recipes.web.exception.RecipeNotFoundException;
+import com.umbrella.recipes.web.exception.RecipeVersionMismatchException;
 import com.umbrella.recipes.web.exception.UnauthorizedUserException;
 import com.umbrella.recipes.web.mapper.RecipeMapper;
 import com.umbrella.recipes.model.RecipeModel;
 import com.umbrella.recipes.persistence.RecipesRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing recipes. Provides methods for retrieving, creating, updating, and deleting recipes.
+ * Every public method is timed as {@code recipes.service}, tagged with its method name.
  */
 @Slf4j
 @RequiredArgsConstructor
 @Service
+@Timed(value = RecipeService.TIMER_NAME, histogram = true)
 public class RecipeService {
 
+    public static final String TIMER_NAME = "recipes.service";
+
     private final RecipesRepository recipesRepository;
     private final UserRepository userRepository;
     private final RecipeMapper recipeMapper;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<InMemoryRecipeSearch> inMemorySearch;
+    private final RecipeCache recipeCache;
+    private final CategoryCounts categoryCounts;
+
+    @Value("${recipes.search.backend:full_text}")
+    private RecipeSearchBackend searchBackend;
+
+    @Value("${recipes.search.not-found-on-empty:true}")
+    private boolean notFoundOnEmpty;
+
+    /**
+     * Retrieves the number of recipes in each category. Categories are compared case-insensitively and reported by
+     * their lower-cased key.
+     *
+     * @return The category counts, largest first.
+     */
+    public List<CategoryCount> getCategoryCounts() {
+        return categoryCounts.getCounts();
+    }
 
     /**
-     * Retrieves a recipe by its unique identifier.
+     * Retrieves a recipe by its unique identifier. Recipes are served from the RecipeCache; on a miss the recipe and
+     * both of its collections are read in a single query.
      *
      * @param id The ID of the recipe to retrieve.
      * @return An Optional containing the RecipeDTO if found, or an empty Optional if not found.
      * @throws RecipeNotFoundException if no recipe is found for the given ID.
      */
     public Optional<RecipeDTO> getRecipe(Long id) {
+        return Optional.of(getVersionedRecipe(id).recipe());
+    }
+
+    /**
+     * Retrieves a recipe together with the version it was read at. Like {@link #getRecipe}, a cached recipe is
+     * returned without querying the database, version included.
+     *
+     * @param id The ID of the recipe to retrieve.
+     * @return The recipe and its version.
+     * @throws RecipeNotFoundException if no recipe is found for the given ID.
+     */
+    public VersionedRecipe getVersionedRecipe(Long id) {
+        return recipeCache.get(id, this::loadRecipe);
+    }
+
+    private VersionedRecipe loadRecipe(Long id) {
         log.debug("Searching for recipe with ID: {}", id);
-        RecipeModel recipeModel = recipesRepository.findById(id).orElseThrow(() -> {
-            log.error("Recipe not found for ID: {}", id);
+        RecipeView recipeView = recipesRepository.findViewById(id).orElseThrow(() -> {
+            log.debug("Recipe not found for ID: {}", id);
             return new RecipeNotFoundException("Recipe not found for ID: " + id);
         });
 
         log.debug("Recipe found for ID: {}, now mapping to DTO and returning.", id);
-        return Optional.of(recipeMapper.toDTO(recipeModel));
+        return new VersionedRecipe(recipeMapper.toDTO(recipeView),
+                new RecipeVersion(id, recipeView.getVersion(), recipeView.getDate()));
+    }
+
+    /**
+     * Looks up the version of a recipe without reading its collections.
+     *
+     * @param id The ID of the recipe.
+     * @return The version of the recipe, or an empty Optional if it does not exist.
+     */
+    public Optional<RecipeVersion> getRecipeVersion(Long id) {
+        return recipesRepository.findVersionById(id);
     }
 
     /**
-     * Creates a new recipe for the current user.
+     * Looks up the version of the result of {@link #searchRecipeByCategory} from the IDs and versions of the matching
+     * recipes alone, without reading or mapping their ingredients and directions. Only worth running to answer a
+     * conditional request; a full search computes the version from the rows it reads.
+     *
+     * @param category The category to search for.
+     * @return The version of the result, or an empty Optional if no recipes match.
+     */
+    public Optional<RecipeSearchVersion> searchRecipeVersionByCategory(String category) {
+        return nonEmpty(RecipeSearchVersion.of(
+                recipesRepository.findRevisionsByCategory(RecipeModel.categoryKey(category))));
+    }
+
+    /**
+     * Looks up the version of the result of {@link #searchRecipeByName}, see {@link #searchRecipeVersionByCategory}.
+     *
+     * @param name The name to search for.
+     * @return The version of the result, or an empty Optional if no recipes match.
+     */
+    public Optional<RecipeSearchVersion> searchRecipeVersionByName(String name) {
+        return nonEmpty(RecipeSearchVersion.of(recipesRepository.findRevisionsByName(containsPattern(name))));
+    }
+
+    private static Optional<RecipeSearchVersion> nonEmpty(RecipeSearchVersion version) {
+        return Optional.of(version).filter(v -> !v.isEmpty());
+    }
+
+    /**
+     * Creates a new recipe for the current user. Any ID or version on the given recipe is discarded, so it is always
+     * inserted as a new row.
      *
      * @param currentUser The username of the currently authenticated user.
      * @param recipe      The RecipeModel object representing the new recipe.
@@ -62,22 +170,29 @@ public class RecipeService {
             log.error("User not found for username: {}", currentUser);
             throw new RuntimeException("User not found");
         }
+        recipe.setRecipeId(null);
+        recipe.setVersion(null);
         recipe.setUserModel(userModel.get());
         recipesRepository.saveAndFlush(recipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.created(recipe.getRecipeId(), recipe.getCategoryKey()));
         return recipe.getRecipeId();
     }
 
     /**
-     * Updates an existing recipe for the current user.
+     * Updates an existing recipe for the current user. The update is guarded by the recipe's version column, so a
+     * concurrent update that commits first makes this one fail instead of being silently overwritten.
      *
-     * @param currentUser    The username of the currently authenticated user.
-     * @param id             The ID of the recipe to update.
-     * @param recipeRequest  The RecipeModel object representing the updated recipe.
-     * @return A ResponseEntity indicating the result of the update.
-     * @throws RecipeNotFoundException   if no recipe is found for the given ID.
-     * @throws UnauthorizedUserException if the user is not authorized to update the recipe.
+     * @param currentUser     The username of the currently authenticated user.
+     * @param id              The ID of the recipe to update.
+     * @param recipeRequest   The RecipeModel object representing the updated recipe.
+     * @param expectedVersion The version the client last read, from its If-Match header, or null to update any version.
+     * @return A ResponseEntity indicating the result of the update, carrying the new version as its ETag.
+     * @throws RecipeNotFoundException        if no recipe is found for the given ID.
+     * @throws UnauthorizedUserException      if the user is not authorized to update the recipe.
+     * @throws RecipeVersionMismatchException if the recipe's current version is not the expected one.
      */
-    public ResponseEntity<String> updateRecipe(String currentUser, Long id, RecipeModel recipeRequest) {
+    @Transactional
+    public ResponseEntity<String> updateRecipe(String currentUser, Long id, RecipeModel recipeRequest, Long expectedVersion) {
         RecipeModel recipeModel = recipesRepository.findById(id)
                 .orElseThrow(() -> {
                     log.error("Recipe not found for ID: {}", id);
@@ -90,11 +205,20 @@ public class RecipeService {
             throw new UnauthorizedUserException("User not authorized to update recipeRequest with ID: " + recipeModel.getRecipeId());
         }
 
+        if (expectedVersion != null && !expectedVersion.equals(recipeModel.getVersion())) {
+            log.warn("Rejecting update of recipe {} at version {}, client expected version {}", id,
+                    recipeModel.getVersion(), expectedVersion);
+            throw new RecipeVersionMismatchException("Recipe with ID " + id + " has been modified, current version is "
+                    + recipeModel.getVersion());
+        }
+
+        String previousCategoryKey = recipeModel.getCategoryKey();
         recipeRequest.setRecipeId(recipeModel.getRecipeId());
         recipeMapper.updateRecipeFromDTO(recipeRequest, recipeModel);
         log.info("User {} is updating recipe with ID: {}", currentUser, recipeRequest.getRecipeId());
         recipesRepository.saveAndFlush(recipeModel);
-        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        eventPublisher.publishEvent(RecipeChangedEvent.updated(id, previousCategoryKey, recipeModel.getCategoryKey()));
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).eTag(RecipeVersion.eTagOf(recipeModel.getVersion())).build();
     }
 
     /**
@@ -105,6 +229,7 @@ public class RecipeService {
      * @return A ResponseEntity indicating the result of the deletion.
      * @throws RecipeNotFoundException if no recipe is found for the given ID.
      */
+    @Transactional
     public ResponseEntity<String> deleteRecipe(String currentUser, Long id) {
         RecipeModel recipeModel = recipesRepository.findById(id).orElseThrow(() -> {
             log.error("Recipe not found for ID: {}", id);
@@ -118,6 +243,7 @@ public class RecipeService {
         }
 
         recipesRepository.deleteById(id);
+        eventPublisher.publishEvent(RecipeChangedEvent.deleted(id, recipeModel.getCategoryKey()));
         log.info("Recipe with ID {} deleted.", id);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
@@ -126,39 +252,233 @@ public class RecipeService {
      * Searches for recipes by category.
      *
      * @param category The category to search for.
-     * @return A list of RecipeDTOs that match the search criteria.
+     * @return A list of RecipeDTOs that match the search criteria, empty if none do.
+     * @throws RecipeNotFoundException if no recipe matches and {@code recipes.search.not-found-on-empty} is set.
      */
     public List<RecipeDTO> searchRecipeByCategory(String category) {
-        return searchRecipes(category, () -> recipesRepository.findByCategoryIgnoreCaseOrderByDateDesc(category));
+        return searchVersionedRecipesByCategory(category).recipes();
+    }
+
+    /**
+     * Searches for recipes by category, together with the version of the result.
+     *
+     * @param category The category to search for.
+     * @return The RecipeDTOs that match the search criteria, empty if none do, and the version computed from them.
+     * @throws RecipeNotFoundException if no recipe matches and {@code recipes.search.not-found-on-empty} is set.
+     */
+    public VersionedRecipes searchVersionedRecipesByCategory(String category) {
+        return searchRecipes(category, () -> recipesRepository.findViewsByCategory(RecipeModel.categoryKey(category)));
     }
 
     /**
      * Searches for recipes by name.
      *
      * @param name The name to search for.
-     * @return A list of RecipeDTOs that match the search criteria.
+     * @return A list of RecipeDTOs that match the search criteria, empty if none do.
+     * @throws RecipeNotFoundException if no recipe matches and {@code recipes.search.not-found-on-empty} is set.
      */
     public List<RecipeDTO> searchRecipeByName(String name) {
-        return searchRecipes(name, () -> recipesRepository.findByNameContainingIgnoreCaseOrderByDateDesc(name));
+        return searchVersionedRecipesByName(name).recipes();
+    }
+
+    /**
+     * Searches for recipes by name, together with the version of the result.
+     *
+     * @param name The name to search for.
+     * @return The RecipeDTOs that match the search criteria, empty if none do, and the version computed from them.
+     * @throws RecipeNotFoundException if no recipe matches and {@code recipes.search.not-found-on-empty} is set.
+     */
+    public VersionedRecipes searchVersionedRecipesByName(String name) {
+        return searchRecipes(name, () -> recipesRepository.findViewsByName(containsPattern(name)));
+    }
+
+    /**
+     * Streams all recipes of a category to the given output as newline-delimited JSON, one RecipeDTO per line. Rows
+     * are read through a forward-only cursor and written as they are mapped, so memory use does not grow with the
+     * size of the result.
+     *
+     * @param category The category to search for.
+     * @param out      The output stream to write to.
+     * @throws IOException if writing to the output stream fails.
+     */
+    @Transactional(readOnly = true)
+    public void streamRecipesByCategory(String category, OutputStream out) throws IOException {
+        try (Stream<RecipeView> recipeViews = recipesRepository.streamViewsByCategory(RecipeModel.categoryKey(category))) {
+            writeNdjson(recipeViews, out);
+        }
+    }
+
+    /**
+     * Streams all recipes matching a name to the given output as newline-delimited JSON, one RecipeDTO per line.
+     *
+     * @param name The name to search for.
+     * @param out  The output stream to write to.
+     * @throws IOException if writing to the output stream fails.
+     */
+    @Transactional(readOnly = true)
+    public void streamRecipesByName(String name, OutputStream out) throws IOException {
+        try (Stream<RecipeView> recipeViews = recipesRepository.streamViewsByName(containsPattern(name))) {
+            writeNdjson(recipeViews, out);
+        }
+    }
+
+    /**
+     * Writes each recipe as one JSON line. The first line is flushed right away so clients get the first byte
+     * without waiting for the response buffer to fill.
+     */
+    private void writeNdjson(Stream<RecipeView> recipeViews, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(RecipeDTO.class);
+        Iterator<RecipeView> iterator = recipeViews.iterator();
+        boolean first = true;
+        while (iterator.hasNext()) {
+            out.write(writer.writeValueAsBytes(recipeMapper.toDTO(iterator.next())));
+            out.write('\n');
+            if (first) {
+                out.flush();
+                first = false;
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Retrieves one keyset page of recipes by category.
+     *
+     * @param category The category to search for.
+     * @param limit    The maximum number of recipes on the page.
+     * @param cursor   The opaque cursor returned with the previous page, or null for the first page.
+     * @return The requested page and the cursor of the next one.
+     */
+    public RecipePage searchRecipePageByCategory(String category, int limit, String cursor) {
+        return searchRecipePage(limit, cursor,
+                (date, id, fetchSize) -> recipesRepository.findViewsByCategoryAfter(
+                        RecipeModel.categoryKey(category), date, id, fetchSize),
+                () -> recipesRepository.countByCategoryKey(RecipeModel.categoryKey(category)));
+    }
+
+    /**
+     * Retrieves one keyset page of recipes by name.
+     *
+     * @param name   The name to search for.
+     * @param limit  The maximum number of recipes on the page.
+     * @param cursor The opaque cursor returned with the previous page, or null for the first page.
+     * @return The requested page and the cursor of the next one.
+     */
+    public RecipePage searchRecipePageByName(String name, int limit, String cursor) {
+        return searchRecipePage(limit, cursor,
+                (date, id, fetchSize) -> recipesRepository.findViewsByNameAfter(containsPattern(name), date, id, fetchSize),
+                () -> recipesRepository.countByNamePattern(containsPattern(name)));
     }
 
     /**
-     * Searches for recipes in the repository based on a search term and maps the results to RecipeDTOs.
+     * Fetches one keyset page. One extra row is fetched to find out whether a next page exists without another query.
+     * The first page also carries the total number of matches: its own size if it is the only page, otherwise the
+     * result of a COUNT query, which a category search answers from the category index alone.
+     *
+     * @param limit      The maximum number of recipes on the page.
+     * @param cursor     The opaque cursor of the page to fetch.
+     * @param pageQuery  The repository query fetching recipes after a given key.
+     * @param countQuery The repository query counting the whole result.
+     * @return The requested page and the cursor of the next one, if any.
+     */
+    private RecipePage searchRecipePage(int limit, String cursor, PageQuery pageQuery, LongSupplier countQuery) {
+        RecipeCursor position = RecipeCursor.decode(cursor);
+        log.debug("Fetching recipe page after {} with limit {}", position, limit);
+        List<RecipeView> recipeViews = pageQuery.fetch(position.date(), position.recipeId(), limit + 1);
+
+        String next = null;
+        if (recipeViews.size() > limit) {
+            recipeViews = recipeViews.subList(0, limit);
+            RecipeView last = recipeViews.get(limit - 1);
+            next = new RecipeCursor(last.getDate(), last.getId()).encode();
+        }
+
+        Long totalHint = null;
+        if (cursor == null) {
+            totalHint = next == null ? recipeViews.size() : countQuery.getAsLong();
+        }
+        return new RecipePage(recipeViews.stream().map(recipeMapper::toDTO).toList(), next, totalHint);
+    }
+
+    /**
+     * Searches recipe names, descriptions and ingredients, most relevant first, using the configured
+     * RecipeSearchBackend.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of recipes to return.
+     * @return A list of RecipeDTOs ordered by relevance, empty if nothing matches.
+     */
+    public List<RecipeDTO> searchRecipesRanked(String query, int limit) {
+        log.debug("Searching for recipes matching {} with the {} backend", query, searchBackend);
+        List<RecipeView> recipeViews = switch (searchBackend) {
+            case FULL_TEXT -> recipesRepository.findViewsByFullText(query, limit);
+            case LIKE -> recipesRepository.findViewsByKeyword(containsPattern(query), limit);
+            case INDEX -> searchInMemory(query, limit);
+        };
+        return recipeViews.stream().map(recipeMapper::toDTO).toList();
+    }
+
+    /**
+     * Answers a search from the in-memory index and fetches only the matched recipes, in one batched query, keeping
+     * the index's most recently created first order. Falls back to the LIKE query while the index is still being built.
+     */
+    private List<RecipeView> searchInMemory(String query, int limit) {
+        InMemoryRecipeSearch search = inMemorySearch.getIfAvailable();
+        if (search == null || !search.isReady()) {
+            log.warn("Recipe search index is not ready, falling back to LIKE search for {}", query);
+            return recipesRepository.findViewsByKeyword(containsPattern(query), limit);
+        }
+
+        long[] ids = search.search(query, limit);
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Map<Long, RecipeView> recipeViews = recipesRepository.findViewsByIds(Arrays.stream(ids).boxed().toList())
+                .stream()
+                .collect(Collectors.toMap(RecipeView::getId, Function.identity()));
+        return Arrays.stream(ids)
+                .mapToObj(recipeViews::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Builds a case-insensitive "contains" pattern for ILIKE, escaping the LIKE wildcards in the search term.
+     */
+    static String containsPattern(String term) {
+        String escaped = term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * Searches for recipes in the repository based on a search term and maps the results to RecipeDTOs. The supplied
+     * query returns every matched recipe together with its collections, so a search costs one statement no matter
+     * how many recipes it matches.
      *
      * @param searchTerm          The search term to match recipes.
-     * @param repositorySupplier  A Supplier that provides an Optional containing a list of RecipeModel.
-     * @return A list of RecipeDTOs that match the search term, or an empty list if no recipes are found.
+     * @param repositorySupplier  A Supplier that provides the list of matching RecipeViews.
+     * @return The RecipeDTOs that match the search term, or an empty list if no recipes are found, and their version.
+     * @throws RecipeNotFoundException if no recipes are found and {@code recipes.search.not-found-on-empty} is set.
      */
-    private List<RecipeDTO> searchRecipes(String searchTerm, Supplier<Optional<List<RecipeModel>>> repositorySupplier) {
+    private VersionedRecipes searchRecipes(String searchTerm, Supplier<List<RecipeView>> repositorySupplier) {
         log.debug("Searching for recipes with {}: {}", searchTerm, searchTerm);
-        Optional<List<RecipeModel>> recipeModels = repositorySupplier.get();
+        List<RecipeView> recipeViews = repositorySupplier.get();
+        RecipeSearchVersion version = RecipeSearchVersion.of(recipeViews.stream().map(RecipeRevision::of).toList());
 
-        if (recipeModels.isEmpty() || recipeModels.get().isEmpty()) {
-            log.error("No recipes found for {}: {}", searchTerm, searchTerm);
-            throw new RecipeNotFoundException("No recipes found for " + searchTerm + ": " + searchTerm);
+        if (recipeViews.isEmpty()) {
+            log.debug("No recipes found for {}: {}", searchTerm, searchTerm);
+            if (notFoundOnEmpty) {
+                throw new RecipeNotFoundException("No recipes found for " + searchTerm + ": " + searchTerm);
+            }
+            return new VersionedRecipes(List.of(), version);
         }
 
         log.info("Recipes found for {}: {}", searchTerm, searchTerm);
-        return recipeModels.get().stream().map(recipeMapper::toDTO).toList();
+        return new VersionedRecipes(recipeViews.stream().map(recipeMapper::toDTO).toList(), version);
+    }
+
+    @FunctionalInterface
+    private interface PageQuery {
+        List<RecipeView> fetch(LocalDateTime date, Long id, int limit);
     }
 }
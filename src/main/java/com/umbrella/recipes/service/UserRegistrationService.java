@@ -0,0 +1,47 @@
+package com.umbrella.recipes.service;
+
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.UserRepository;
+import com.umbrella.recipes.security.UserCredentialsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class for registering users. Blocking: it queries the database and hashes the password with BCrypt, so
+ * reactive callers must run it on a scheduler meant for blocking work.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class UserRegistrationService {
+
+    private final UserRepository repository;
+    private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Registers a new user with the given email and password.
+     *
+     * @param email    The email, used as the username.
+     * @param password The raw password.
+     * @return True if the user was registered, false if a user with that email already exists.
+     */
+    public boolean register(String email, String password) {
+        if (repository.existsByUsername(email)) {
+            log.error("User with email {} already exists", email);
+            return false;
+        }
+
+        log.info("Registering new user: {}", email);
+        UserModel user = new UserModel();
+        user.setUsername(email);
+        user.setPassword(passwordEncoder.encode(password));
+        user.setAuthority("ROLE_USER");
+        repository.save(user);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getUsername()));
+        return true;
+    }
+}
@@ -0,0 +1,14 @@
+package com.umbrella.recipes.service;
+
+import com.umbrella.recipes.persistence.RecipeVersion;
+import com.umbrella.recipes.web.dto.RecipeDTO;
+
+/**
+ * A recipe together with the version it was read at, so that conditional requests can be answered from the
+ * RecipeCache without asking the database for the current version.
+ *
+ * @param recipe  The recipe.
+ * @param version The version and last modification time of the recipe as read.
+ */
+public record VersionedRecipe(RecipeDTO recipe, RecipeVersion version) {
+}
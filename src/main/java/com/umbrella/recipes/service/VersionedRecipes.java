@@ -0,0 +1,16 @@
+package com.umbrella.recipes.service;
+
+import com.umbrella.recipes.persistence.RecipeSearchVersion;
+import com.umbrella.recipes.web.dto.RecipeDTO;
+
+import java.util.List;
+
+/**
+ * The result of a search together with the version computed from the rows it was mapped from, so that the entity tag
+ * of a search response always describes its body.
+ *
+ * @param recipes The matched recipes.
+ * @param version The version of the result as read.
+ */
+public record VersionedRecipes(List<RecipeDTO> recipes, RecipeSearchVersion version) {
+}
@@ -0,0 +1,306 @@
+package com.umbrella.recipes.web.controller;
+
+import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.persistence.ResourceVersion;
+import com.umbrella.recipes.service.ReactiveRecipeService;
+import com.umbrella.recipes.service.RecipeImportService;
+import com.umbrella.recipes.service.RecipeService;
+import com.umbrella.recipes.service.VersionedRecipes;
+import com.umbrella.recipes.web.dto.CategoryCount;
+import com.umbrella.recipes.web.dto.RecipeDTO;
+import com.umbrella.recipes.web.dto.RecipeImportResult;
+import com.umbrella.recipes.web.dto.RecipePage;
+import com.umbrella.recipes.web.exception.RecipeVersionMismatchException;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * WebFlux counterpart of {@link RecipeController}, serving the same endpoints without holding a thread per request.
+ * Recipe reads and writes are non-blocking; bulk import, ranked search and category counts reuse the blocking
+ * services on the bounded elastic scheduler. Only active with the {@code reactive} profile.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Validated
+@RestController
+@Profile("reactive")
+public class ReactiveRecipeController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReactiveRecipeService recipeService;
+    private final RecipeService blockingRecipeService;
+    private final RecipeImportService recipeImportService;
+
+    @Value("${recipes.import.max-size:16MB}")
+    private DataSize maxImportSize;
+
+    /**
+     * Retrieves a recipe by its unique identifier, see {@link RecipeController#getRecipe}.
+     *
+     * @param id       The ID of the recipe to retrieve.
+     * @param exchange The current exchange, used to evaluate its conditional headers.
+     * @return The RecipeDTO if found, or a 404 Not Found response if not found.
+     */
+    @GetMapping("/api/recipe/{id}")
+    public Mono<ResponseEntity<RecipeDTO>> getRecipe(@PathVariable Long id, ServerWebExchange exchange) {
+        return recipeService.getVersionedRecipe(id)
+                .flatMap(recipe -> checkNotModified(recipe.version(), exchange)
+                        ? Mono.empty()
+                        : Mono.just(ResponseEntity.ok(recipe.recipe())));
+    }
+
+    /**
+     * Searches for recipes based on category or name parameters, see {@link RecipeController#searchRecipe}.
+     *
+     * @param category The category parameter for filtering recipes.
+     * @param name     The name parameter for filtering recipes.
+     * @param exchange The current exchange, used to evaluate its conditional headers.
+     * @return The RecipeDTOs that match the search criteria or a 400 Bad Request if not exactly one parameter is given.
+     */
+    @GetMapping("/api/recipe/search")
+    public Mono<ResponseEntity<List<RecipeDTO>>> searchRecipe(
+            @RequestParam(name = "category", required = false) String category,
+            @RequestParam(name = "name", required = false) String name,
+            ServerWebExchange exchange) {
+        if ((category == null) == (name == null)) {
+            log.error("Exactly one of category and name parameters must be provided.");
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        boolean conditional = exchange.getRequest().getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH);
+        if (category != null) {
+            log.debug("Searching for recipe with category: {}, from the controller.", category);
+            return ifModified(conditional ? recipeService.searchRecipeVersionByCategory(category) : Mono.empty(),
+                    exchange, () -> recipeService.searchRecipeByCategory(category)
+                            .flatMap(result -> searchResponse(result, exchange)));
+        }
+        log.debug("Searching for recipe with name: {}, from the controller.", name);
+        return ifModified(conditional ? recipeService.searchRecipeVersionByName(name) : Mono.empty(),
+                exchange, () -> recipeService.searchRecipeByName(name)
+                        .flatMap(result -> searchResponse(result, exchange)));
+    }
+
+    /**
+     * Searches for recipes one keyset page at a time, see {@link RecipeController#searchRecipePage}.
+     *
+     * @param category The category parameter for filtering recipes.
+     * @param name     The name parameter for filtering recipes.
+     * @param limit    The maximum number of recipes on the page.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @return The page of RecipeDTOs or a 400 Bad Request if not exactly one of category and name is provided.
+     */
+    @GetMapping(path = "/api/recipe/search", params = {"limit", "!q"})
+    public Mono<ResponseEntity<RecipePage>> searchRecipePage(
+            @RequestParam(name = "category", required = false) String category,
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "limit") @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        if ((category == null) == (name == null)) {
+            log.error("Exactly one of category and name parameters must be provided.");
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        Mono<RecipePage> page = category != null
+                ? recipeService.searchRecipePageByCategory(category, limit, cursor)
+                : recipeService.searchRecipePageByName(name, limit, cursor);
+        return page.map(ResponseEntity::ok);
+    }
+
+    /**
+     * Searches recipe names, descriptions and ingredients for free text, see
+     * {@link RecipeController#searchRecipeRanked}.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of recipes to return.
+     * @return The matching RecipeDTOs, most relevant first.
+     */
+    @GetMapping(path = "/api/recipe/search", params = "q")
+    public Mono<ResponseEntity<List<RecipeDTO>>> searchRecipeRanked(
+            @RequestParam(name = "q") @NotBlank String query,
+            @RequestParam(name = "limit", defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        log.debug("Searching for recipes matching: {}, from the controller.", query);
+        return Mono.fromCallable(() -> blockingRecipeService.searchRecipesRanked(query, limit))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Streams all recipes matching a category or name as newline-delimited JSON, one RecipeDTO per line.
+     *
+     * @param category The category parameter for filtering recipes.
+     * @param name     The name parameter for filtering recipes.
+     * @return The matching recipes, or a 400 Bad Request if not exactly one of category and name is provided.
+     */
+    @GetMapping(path = "/api/recipe/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<RecipeDTO>> streamRecipes(
+            @RequestParam(name = "category", required = false) String category,
+            @RequestParam(name = "name", required = false) String name) {
+        if ((category == null) == (name == null)) {
+            log.error("Exactly one of category and name parameters must be provided.");
+            return ResponseEntity.badRequest().build();
+        }
+
+        Flux<RecipeDTO> recipes = category != null
+                ? recipeService.streamRecipesByCategory(category)
+                : recipeService.streamRecipesByName(name);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(recipes);
+    }
+
+    /**
+     * Lists the recipe categories with the number of recipes in each.
+     *
+     * @return The category counts, largest first.
+     */
+    @GetMapping("/api/categories")
+    public Mono<ResponseEntity<List<CategoryCount>>> getCategories() {
+        return Mono.fromCallable(blockingRecipeService::getCategoryCounts)
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Creates a new recipe.
+     *
+     * @param details The authenticated user details.
+     * @param recipe  The RecipeModel object representing the new recipe.
+     * @return The ID of the created recipe.
+     */
+    @PostMapping("/api/recipe/new")
+    public Mono<ResponseEntity<Map<String, Long>>> postRecipe(@AuthenticationPrincipal UserDetails details,
+                                                             @Valid @RequestBody RecipeModel recipe) {
+        log.info("User {} is creating a new recipe", details.getUsername());
+        return recipeService.saveRecipe(details.getUsername(), recipe)
+                .map(id -> ResponseEntity.status(HttpStatus.CREATED).body(Map.of("Recipe created for id", id)));
+    }
+
+    /**
+     * Imports recipes in bulk for the authenticated user, see {@link RecipeController#importRecipes}. The body is
+     * collected without blocking, up to {@code recipes.import.max-size}, and then handed to the RecipeImportService
+     * on the bounded elastic scheduler.
+     *
+     * @param details The authenticated user details.
+     * @param body    A JSON array of recipes, or one JSON recipe per line.
+     * @return The number of recipes read and imported, and the rejected ones, or a 413 Payload Too Large response if
+     * the body exceeds the configured maximum size.
+     */
+    @PostMapping(path = "/api/recipe/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<RecipeImportResult>> importRecipes(@AuthenticationPrincipal UserDetails details,
+                                                                  @RequestBody Flux<DataBuffer> body) {
+        log.info("User {} is importing recipes", details.getUsername());
+        return DataBufferUtils.join(body, Math.toIntExact(maxImportSize.toBytes()))
+                .publishOn(Schedulers.boundedElastic())
+                .map(buffer -> recipeImportService.importRecipes(details.getUsername(), buffer.asInputStream(true)))
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Updates an existing recipe, see {@link RecipeController#updateRecipe}.
+     *
+     * @param details       The authenticated user details.
+     * @param id            The ID of the recipe to update.
+     * @param recipeRequest The RecipeModel object representing the updated recipe.
+     * @param ifMatch       The ETag of the version the client last read, or null to update any version.
+     * @return A ResponseEntity with a message indicating the result of the update.
+     */
+    @PutMapping("/api/recipe/{id}")
+    public Mono<ResponseEntity<String>> updateRecipe(
+            @AuthenticationPrincipal UserDetails details, @PathVariable Long id,
+            @RequestBody RecipeModel recipeRequest,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Mono.fromSupplier(() -> RecipeController.parseIfMatch(ifMatch))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(expectedVersion -> recipeService.updateRecipe(details.getUsername(), id, recipeRequest,
+                        expectedVersion.orElse(null)));
+    }
+
+    /**
+     * Deletes a recipe by its unique identifier.
+     *
+     * @param details The authenticated user details.
+     * @param id      The ID of the recipe to delete.
+     * @return A ResponseEntity with a message indicating the result of the deletion.
+     */
+    @DeleteMapping("/api/recipe/{id}")
+    public Mono<ResponseEntity<String>> deleteRecipe(@AuthenticationPrincipal UserDetails details,
+                                                     @PathVariable Long id) {
+        return recipeService.deleteRecipe(details.getUsername(), id);
+    }
+
+    /**
+     * Answers with 304 Not Modified, without running the given read, if the exchange's conditional headers match the
+     * current version. The ETag header, and Last-Modified if known, are set either way.
+     *
+     * @param version  The current version, or an empty Mono if there is nothing to validate against.
+     * @param exchange The current exchange.
+     * @param read     Produces the full response when the client's copy is outdated.
+     * @return The full response, or an empty Mono once a 304 response has been prepared.
+     */
+    private static <T> Mono<ResponseEntity<T>> ifModified(Mono<? extends ResourceVersion> version,
+                                                         ServerWebExchange exchange,
+                                                         Supplier<Mono<ResponseEntity<T>>> read) {
+        return version.map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(current -> current.isPresent() && checkNotModified(current.get(), exchange)
+                        ? Mono.empty()
+                        : read.get());
+    }
+
+    /**
+     * Answers a search with its results, see {@link RecipeController#searchRecipe}.
+     *
+     * @param result   The search results and their version.
+     * @param exchange The current exchange.
+     * @return The full response, or an empty Mono once a 304 response has been prepared.
+     */
+    private static Mono<ResponseEntity<List<RecipeDTO>>> searchResponse(VersionedRecipes result,
+                                                                       ServerWebExchange exchange) {
+        return !result.version().isEmpty() && checkNotModified(result.version(), exchange)
+                ? Mono.empty()
+                : Mono.just(ResponseEntity.ok(result.recipes()));
+    }
+
+    /**
+     * Checks the exchange's conditional headers against the given version, leaving out Last-Modified if the version
+     * has no modification time.
+     *
+     * @param version  The current version.
+     * @param exchange The current exchange.
+     * @return True if a 304 Not Modified response has been prepared.
+     */
+    private static boolean checkNotModified(ResourceVersion version, ServerWebExchange exchange) {
+        long lastModified = version.lastModifiedMillis();
+        return lastModified < 0
+                ? exchange.checkNotModified(version.eTag())
+                : exchange.checkNotModified(version.eTag(), Instant.ofEpochMilli(lastModified));
+    }
+}
@@ -0,0 +1,60 @@
+package com.umbrella.recipes.web.controller;
+
+import com.umbrella.recipes.security.BearerTokenService;
+import com.umbrella.recipes.service.UserRegistrationService;
+import com.umbrella.recipes.web.dto.RegistrationRequest;
+import com.umbrella.recipes.web.dto.TokenResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux counterpart of {@link SecurityController}. Registration queries the database through JPA and hashes the
+ * password with BCrypt, so it runs on the bounded elastic scheduler instead of an event-loop thread. Only active with
+ * the {@code reactive} profile.
+ */
+@RequiredArgsConstructor
+@RestController
+@Profile("reactive")
+public class ReactiveSecurityController {
+
+    private final UserRegistrationService registrationService;
+    private final BearerTokenService tokenService;
+
+    /**
+     * Registers a new user, see {@link SecurityController#register}.
+     *
+     * @param request The registration request containing email and password.
+     * @return ResponseEntity with a success message if registration is successful.
+     */
+    @PostMapping(path = "/api/register")
+    public Mono<ResponseEntity<String>> register(@Valid @RequestBody RegistrationRequest request) {
+        return Mono.fromCallable(() -> registrationService.register(request.email(), request.password()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(SecurityController::registrationResponse);
+    }
+
+    /**
+     * Issues a signed bearer token, see {@link SecurityController#login}. Signing the token needs neither the database
+     * nor BCrypt, so it runs on the event loop.
+     *
+     * @param authentication The current authentication, which must have been established with a password.
+     * @param details        The authenticated user details.
+     * @return ResponseEntity with the issued token, or the error response described by
+     * {@link SecurityController#login}.
+     */
+    @PostMapping(path = "/api/login")
+    public ResponseEntity<TokenResponse> login(Authentication authentication,
+                                               @AuthenticationPrincipal UserDetails details) {
+        return SecurityController.loginResponse(authentication, details, tokenService);
+    }
+}
@@ -1,57 +1,93 @@
 package com.umbrella.recipes.web.controller;
 
+import com.umbrella.recipes.persistence.ResourceVersion;
+import com.umbrella.recipes.web.dto.CategoryCount;
 import com.umbrella.recipes.web.dto.RecipeDTO;
+import com.umbrella.recipes.web.dto.RecipeImportResult;
+import com.umbrella.recipes.web.dto.RecipePage;
+import com.umbrella.recipes.web.exception.RecipeNotFoundException;
+import com.umbrella.recipes.web.exception.RecipeVersionMismatchException;
+import com.umbrella.recipes.web.filter.QueryCountFilter;
 import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.service.RecipeImportService;
 import com.umbrella.recipes.service.RecipeService;
+import com.umbrella.recipes.service.VersionedRecipe;
+import com.umbrella.recipes.service.VersionedRecipes;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 /**
  * Controller class for managing recipes. Provides RESTful endpoints for retrieving, creating, updating, and deleting recipes.
+ * Replaced by {@link ReactiveRecipeController} with the {@code reactive} profile.
  */
 @Slf4j
 @RequiredArgsConstructor
 @Validated
 @RestController
+@Profile("!reactive")
 public class RecipeController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final RecipeService recipeService;
+    private final RecipeImportService recipeImportService;
 
     /**
-     * Retrieves a recipe by its unique identifier.
+     * Retrieves a recipe by its unique identifier. Responds with 304 Not Modified when the request's If-None-Match or
+     * If-Modified-Since header matches the version the recipe was read at. The version is cached with the recipe, so
+     * a cached recipe is served, or answered with 304, without querying the database.
      *
-     * @param id The ID of the recipe to retrieve.
-     * @return A ResponseEntity containing the RecipeDTO if found, or a 404 Not Found response if not found.
+     * @param id      The ID of the recipe to retrieve.
+     * @param request The current request, used to evaluate its conditional headers.
+     * @return A ResponseEntity containing the RecipeDTO.
+     * @throws RecipeNotFoundException if no recipe is found for the given ID, answered with 404 Not Found.
      */
     @GetMapping("/api/recipe/{id}")
-    public ResponseEntity<RecipeDTO> getRecipe(@PathVariable Long id) {
-        Optional<RecipeDTO> recipeDTO = recipeService.getRecipe(id);
-        return recipeDTO.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    public ResponseEntity<RecipeDTO> getRecipe(@PathVariable Long id, WebRequest request) {
+        VersionedRecipe recipe = recipeService.getVersionedRecipe(id);
+        if (isNotModified(Optional.of(recipe.version()), request)) {
+            return null;
+        }
+        return ResponseEntity.ok(recipe.recipe());
     }
 
     /**
-     * Searches for recipes based on category or name parameters.
+     * Searches for recipes based on category or name parameters. The response carries a weak ETag computed from the
+     * recipes it contains. If the request has an If-None-Match header, the current ETag is first looked up from the
+     * IDs and versions of the matching recipes, and a match is answered with 304 Not Modified without reading them.
      *
      * @param category The category parameter for filtering recipes.
      * @param name     The name parameter for filtering recipes.
+     * @param request  The current request, used to evaluate its conditional headers.
      * @return A ResponseEntity containing a list of RecipeDTOs that match the search criteria or a 400 Bad Request if both parameters are provided.
      */
     @GetMapping("/api/recipe/search")
     public ResponseEntity<List<RecipeDTO>> searchRecipe(
             @RequestParam(name = "category", required = false) String category,
-            @RequestParam(name = "name", required = false) String name) {
+            @RequestParam(name = "name", required = false) String name,
+            WebRequest request) {
         if (category != null && name != null) {
             log.error("Both category and name parameters were provided.");
             return ResponseEntity.badRequest().build();
@@ -59,18 +95,101 @@ public class RecipeController {
 
         if (category != null) {
             log.debug("Searching for recipe with category: {}, from the controller.", category);
-            List<RecipeDTO> recipes = recipeService.searchRecipeByCategory(category);
-            return ResponseEntity.ok(recipes);
+            if (hasIfNoneMatch(request)
+                    && isNotModified(recipeService.searchRecipeVersionByCategory(category), request)) {
+                return null;
+            }
+            return searchResponse(recipeService.searchVersionedRecipesByCategory(category), request);
         } else if (name != null) {
             log.debug("Searching for recipe with name: {}, from the controller.", name);
-            List<RecipeDTO> recipes = recipeService.searchRecipeByName(name);
-            return ResponseEntity.ok(recipes);
+            if (hasIfNoneMatch(request) && isNotModified(recipeService.searchRecipeVersionByName(name), request)) {
+                return null;
+            }
+            return searchResponse(recipeService.searchVersionedRecipesByName(name), request);
         } else {
             log.error("Neither category nor name parameters were provided.");
             return ResponseEntity.badRequest().build();
         }
     }
 
+    /**
+     * Searches for recipes based on category or name parameters, one keyset page at a time. Selected over
+     * {@link #searchRecipe} whenever a limit is given.
+     *
+     * @param category The category parameter for filtering recipes.
+     * @param name     The name parameter for filtering recipes.
+     * @param limit    The maximum number of recipes on the page.
+     * @param cursor   The cursor returned with the previous page, or null for the first page.
+     * @return A ResponseEntity containing the page of RecipeDTOs or a 400 Bad Request if not exactly one of category
+     * and name is provided.
+     */
+    @GetMapping(path = "/api/recipe/search", params = {"limit", "!q"})
+    public ResponseEntity<RecipePage> searchRecipePage(
+            @RequestParam(name = "category", required = false) String category,
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "limit") @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        if ((category == null) == (name == null)) {
+            log.error("Exactly one of category and name parameters must be provided.");
+            return ResponseEntity.badRequest().build();
+        }
+
+        RecipePage page = category != null
+                ? recipeService.searchRecipePageByCategory(category, limit, cursor)
+                : recipeService.searchRecipePageByName(name, limit, cursor);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Searches recipe names, descriptions and ingredients for free text, most relevant first. Selected over the other
+     * search modes whenever a {@code q} parameter is given.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of recipes to return.
+     * @return A ResponseEntity containing the matching RecipeDTOs, most relevant first.
+     */
+    @GetMapping(path = "/api/recipe/search", params = "q")
+    public ResponseEntity<List<RecipeDTO>> searchRecipeRanked(
+            @RequestParam(name = "q") @NotBlank String query,
+            @RequestParam(name = "limit", defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        log.debug("Searching for recipes matching: {}, from the controller.", query);
+        return ResponseEntity.ok(recipeService.searchRecipesRanked(query, limit));
+    }
+
+    /**
+     * Streams all recipes matching a category or name as newline-delimited JSON. Selected over {@link #searchRecipe}
+     * when the client accepts {@code application/x-ndjson}; the response is written while rows are still being read.
+     *
+     * @param category The category parameter for filtering recipes.
+     * @param name     The name parameter for filtering recipes.
+     * @return A ResponseEntity streaming one RecipeDTO per line, or a 400 Bad Request if not exactly one of category
+     * and name is provided.
+     */
+    @GetMapping(path = "/api/recipe/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRecipes(
+            @RequestParam(name = "category", required = false) String category,
+            @RequestParam(name = "name", required = false) String name) {
+        if ((category == null) == (name == null)) {
+            log.error("Exactly one of category and name parameters must be provided.");
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = category != null
+                ? out -> recipeService.streamRecipesByCategory(category, out)
+                : out -> recipeService.streamRecipesByName(name, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(QueryCountFilter.counted(body));
+    }
+
+    /**
+     * Lists the recipe categories with the number of recipes in each.
+     *
+     * @return A ResponseEntity containing the category counts, largest first.
+     */
+    @GetMapping("/api/categories")
+    public ResponseEntity<List<CategoryCount>> getCategories() {
+        return ResponseEntity.ok(recipeService.getCategoryCounts());
+    }
+
     /**
      * Creates a new recipe.
      *
@@ -90,17 +209,42 @@ public class RecipeController {
     }
 
     /**
-     * Updates an existing recipe.
+     * Imports recipes in bulk for the authenticated user. Invalid recipes are reported per item and do not abort the
+     * import.
+     *
+     * @param details The authenticated user details.
+     * @param body    A JSON array of recipes, or one JSON recipe per line.
+     * @return A ResponseEntity containing the number of recipes read and imported, and the rejected ones.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping(path = "/api/recipe/import",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<RecipeImportResult> importRecipes(@AuthenticationPrincipal UserDetails details,
+                                                            InputStream body) throws IOException {
+        if (details == null) {
+            log.error("User not found for username: ");
+            throw new BadCredentialsException("User not found");
+        }
+        log.info("User {} is importing recipes", details.getUsername());
+        RecipeImportResult result = recipeImportService.importRecipes(details.getUsername(), body);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Updates an existing recipe. When an If-Match header is sent, the update is only applied if it matches the
+     * recipe's current ETag, otherwise 412 Precondition Failed is returned.
      *
      * @param details        The authenticated user details.
      * @param id             The ID of the recipe to update.
      * @param recipeRequest  The RecipeModel object representing the updated recipe.
+     * @param ifMatch        The ETag of the version the client last read, or null to update any version.
      * @return A ResponseEntity with a message indicating the result of the update.
      */
     @PutMapping("/api/recipe/{id}")
     public ResponseEntity<String> updateRecipe(@AuthenticationPrincipal UserDetails details, @PathVariable Long id,
-                                               @RequestBody RecipeModel recipeRequest) {
-        return recipeService.updateRecipe(details.getUsername(), id, recipeRequest);
+                                               @RequestBody RecipeModel recipeRequest,
+                                               @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return recipeService.updateRecipe(details.getUsername(), id, recipeRequest, parseIfMatch(ifMatch));
     }
 
     /**
@@ -114,4 +258,66 @@ public class RecipeController {
     public ResponseEntity<String> deleteRecipe(@AuthenticationPrincipal UserDetails details, @PathVariable Long id) {
         return recipeService.deleteRecipe(details.getUsername(), id);
     }
+
+    /**
+     * Checks the request's conditional headers against the given version and, if the client's copy is current,
+     * prepares a 304 Not Modified response. The ETag header, and Last-Modified if known, are set either way.
+     *
+     * @param version The current version, or an empty Optional if there is nothing to validate against.
+     * @param request The current request.
+     * @return True if the handler should return without a body.
+     */
+    private static boolean isNotModified(Optional<? extends ResourceVersion> version, WebRequest request) {
+        return version.isPresent()
+                && request.checkNotModified(version.get().eTag(), version.get().lastModifiedMillis());
+    }
+
+    /**
+     * Whether the request carries an If-None-Match header. Search results have no Last-Modified time, so only then is
+     * it worth querying their version before the search itself.
+     *
+     * @param request The current request.
+     * @return True if the request has an If-None-Match header.
+     */
+    private static boolean hasIfNoneMatch(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    /**
+     * Answers a search with its results, tagged with the version computed from the rows they were mapped from.
+     *
+     * @param result  The search results and their version.
+     * @param request The current request.
+     * @return A ResponseEntity containing the results, or null once a 304 Not Modified response has been prepared.
+     */
+    private static ResponseEntity<List<RecipeDTO>> searchResponse(VersionedRecipes result, WebRequest request) {
+        if (isNotModified(Optional.of(result.version()).filter(v -> !v.isEmpty()), request)) {
+            return null;
+        }
+        return ResponseEntity.ok(result.recipes());
+    }
+
+    /**
+     * Reads the expected recipe version from an If-Match header.
+     *
+     * @param ifMatch The If-Match header value.
+     * @return The expected version, or null if any version may be updated.
+     * @throws RecipeVersionMismatchException if the header is not a single strong ETag of a recipe version.
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String eTag = ifMatch.trim();
+        if (eTag.length() > 2 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+            try {
+                return Long.valueOf(eTag.substring(1, eTag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // falls through to the mismatch below
+            }
+        }
+        log.error("If-Match header {} does not match any recipe version.", ifMatch);
+        throw new RecipeVersionMismatchException("If-Match header " + ifMatch + " does not match the current recipe version");
+    }
 }
@@ -1,27 +1,36 @@
 package com.umbrella.recipes.web.controller;
 
-import com.umbrella.recipes.model.UserModel;
-import com.umbrella.recipes.persistence.UserRepository;
+import com.umbrella.recipes.security.BearerTokenAuthentication;
+import com.umbrella.recipes.security.BearerTokenService;
+import com.umbrella.recipes.service.UserRegistrationService;
 import com.umbrella.recipes.web.dto.RegistrationRequest;
+import com.umbrella.recipes.web.dto.TokenResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
- * REST controller for user registration and authentication.
+ * REST controller for user registration and authentication. Not active with the {@code reactive} profile, which
+ * serves the same endpoints from {@link ReactiveSecurityController}.
  */
 @RequiredArgsConstructor
 @Slf4j
 @RestController
+@Profile("!reactive")
 public class SecurityController {
 
-    private final UserRepository repository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserRegistrationService registrationService;
+    private final BearerTokenService tokenService;
 
     /**
      * Registers a new user with the provided email and password.
@@ -31,18 +40,60 @@ public class SecurityController {
      */
     @PostMapping(path = "/api/register")
     public ResponseEntity<String> register(@Valid @RequestBody RegistrationRequest request) {
-        if (repository.existsByUsername(request.email())) {
-            log.error("User with email {} already exists", request.email());
-            return ResponseEntity.badRequest().body("User already exists");
-        }
+        return registrationResponse(registrationService.register(request.email(), request.password()));
+    }
 
-        log.info("Registering new user: {}", request.email());
-        UserModel user = new UserModel();
-        user.setUsername(request.email());
-        user.setPassword(passwordEncoder.encode(request.password()));
-        user.setAuthority("ROLE_USER");
-        repository.save(user);
+    /**
+     * Issues a signed bearer token for the user authenticated with HTTP Basic, so that subsequent requests can skip
+     * password verification entirely. Requests authenticated with a bearer token are refused, otherwise a leaked token
+     * could be renewed forever and its expiry would mean nothing.
+     *
+     * @param authentication The current authentication, which must have been established with a password.
+     * @param details        The authenticated user details.
+     * @return ResponseEntity with the issued token, a 401 Unauthorized response if the request was authenticated with a
+     * bearer token, or a 404 Not Found response if token authentication is disabled.
+     */
+    @PostMapping(path = "/api/login")
+    public ResponseEntity<TokenResponse> login(Authentication authentication,
+                                               @AuthenticationPrincipal UserDetails details) {
+        return loginResponse(authentication, details, tokenService);
+    }
+
+    /**
+     * Builds the response to a registration attempt, shared with {@link ReactiveSecurityController}.
+     *
+     * @param registered Whether the user was registered.
+     * @return ResponseEntity with a success message, or a 400 Bad Request response if the user already exists.
+     */
+    static ResponseEntity<String> registrationResponse(boolean registered) {
+        return registered
+                ? ResponseEntity.ok("New user successfully registered")
+                : ResponseEntity.badRequest().body("User already exists");
+    }
+
+    /**
+     * Issues a token for a login request, shared with {@link ReactiveSecurityController}, see {@link #login}.
+     *
+     * @param authentication The current authentication.
+     * @param details        The authenticated user details.
+     * @param tokenService   The BearerTokenService issuing the token.
+     * @return ResponseEntity with the issued token, or the error response described by {@link #login}.
+     */
+    static ResponseEntity<TokenResponse> loginResponse(Authentication authentication, UserDetails details,
+                                                       BearerTokenService tokenService) {
+        if (authentication instanceof BearerTokenAuthentication) {
+            log.error("Token login requested for user {} with a bearer token instead of a password",
+                    details.getUsername());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"Realm\"")
+                    .build();
+        }
+        if (!tokenService.isEnabled()) {
+            log.error("Token login requested for user {} but token authentication is disabled", details.getUsername());
+            return ResponseEntity.notFound().build();
+        }
 
-        return ResponseEntity.ok("New user successfully registered");
+        log.info("Issuing bearer token for user: {}", details.getUsername());
+        return ResponseEntity.ok(new TokenResponse(tokenService.issue(details), "Bearer", tokenService.getTtl().toSeconds()));
     }
 }
@@ -0,0 +1,12 @@
+package com.umbrella.recipes.web.dto;
+
+/**
+ * DTO class for representing the number of recipes in a category.
+ *
+ * @param category The category key, lower-cased.
+ * @param count    The number of recipes in the category.
+ */
+public record CategoryCount(
+        String category,
+        long count) {
+}
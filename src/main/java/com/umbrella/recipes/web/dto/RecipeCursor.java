@@ -0,0 +1,51 @@
+package com.umbrella.recipes.web.dto;
+
+import com.umbrella.recipes.web.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated search, ordered by {@code (date, recipeId)} descending. Clients only ever see the
+ * encoded, opaque form.
+ *
+ * @param date     The date of the last recipe on the previous page.
+ * @param recipeId The ID of the last recipe on the previous page.
+ */
+public record RecipeCursor(LocalDateTime date, Long recipeId) {
+
+    /**
+     * Cursor positioned before the newest possible recipe, used for the first page.
+     */
+    public static final RecipeCursor FIRST = new RecipeCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "_";
+
+    public String encode() {
+        String raw = date + SEPARATOR + recipeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor The encoded cursor, or null for the first page.
+     * @return The decoded cursor.
+     * @throws InvalidCursorException if the cursor was not produced by this API.
+     */
+    public static RecipeCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new RecipeCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+}
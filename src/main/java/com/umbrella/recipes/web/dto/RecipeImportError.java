@@ -0,0 +1,12 @@
+package com.umbrella.recipes.web.dto;
+
+/**
+ * DTO class for representing a recipe rejected by a bulk import.
+ *
+ * @param index   The zero-based position of the recipe in the request.
+ * @param message Why the recipe was rejected.
+ */
+public record RecipeImportError(
+        int index,
+        String message) {
+}
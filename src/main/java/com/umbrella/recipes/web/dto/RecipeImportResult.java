@@ -0,0 +1,16 @@
+package com.umbrella.recipes.web.dto;
+
+import java.util.List;
+
+/**
+ * DTO class for representing the outcome of a bulk recipe import.
+ *
+ * @param received The number of recipes read from the request.
+ * @param imported The number of recipes persisted.
+ * @param errors   The recipes that were rejected, in input order.
+ */
+public record RecipeImportResult(
+        int received,
+        int imported,
+        List<RecipeImportError> errors) {
+}
@@ -0,0 +1,22 @@
+package com.umbrella.recipes.web.dto;
+
+import java.util.List;
+
+/**
+ * DTO class for representing one page of a keyset-paginated recipe search. A search that matches nothing is an empty
+ * page, not an error.
+ *
+ * @param recipes   The recipes on this page, newest first.
+ * @param next      The opaque cursor of the next page, or null if this is the last page.
+ * @param totalHint The number of recipes the search matched when the first page was read, or null on later pages.
+ *                  Recipes created or deleted while paging are not reflected.
+ */
+public record RecipePage(
+        List<RecipeDTO> recipes,
+        String next,
+        Long totalHint) {
+
+    public RecipePage(List<RecipeDTO> recipes, String next) {
+        this(recipes, next, null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.umbrella.recipes.web.dto;
+
+/**
+ * DTO class for representing an issued bearer token.
+ */
+public record TokenResponse(
+        String token,
+        String tokenType,
+        long expiresIn) {
+}
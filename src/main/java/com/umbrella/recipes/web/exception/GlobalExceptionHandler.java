@@ -1,5 +1,8 @@
 package com.umbrella.recipes.web.exception;
 
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -29,4 +32,39 @@ public class GlobalExceptionHandler {
     public String handleBadCredentialsException(BadCredentialsException e) {
         return e.getMessage();
     }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    @ExceptionHandler(InvalidCursorException.class)
+    public String handleInvalidCursorException(InvalidCursorException e) {
+        return e.getMessage();
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    @ExceptionHandler(ConstraintViolationException.class)
+    public String handleConstraintViolationException(ConstraintViolationException e) {
+        return e.getMessage();
+    }
+
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ResponseBody
+    @ExceptionHandler(RecipeVersionMismatchException.class)
+    public String handleRecipeVersionMismatchException(RecipeVersionMismatchException e) {
+        return e.getMessage();
+    }
+
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ResponseBody
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public String handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        return "Recipe was modified concurrently, reload it and try again";
+    }
+
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    @ResponseBody
+    @ExceptionHandler(DataBufferLimitException.class)
+    public String handleDataBufferLimitException(DataBufferLimitException e) {
+        return "Request body is too large";
+    }
 }
@@ -1,7 +1,12 @@
 package com.umbrella.recipes.web.exception;
 
+/**
+ * Thrown when a recipe, or with {@code recipes.search.not-found-on-empty} any recipe matching a search, does not exist.
+ * It is an expected outcome mapped to a 404 rather than a failure, and misses can be frequent, so the exception does
+ * not capture a stack trace.
+ */
 public class RecipeNotFoundException extends RuntimeException {
     public RecipeNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,125 @@
+package com.umbrella.recipes.web.filter;
+
+import com.umbrella.recipes.persistence.QueryCounts;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+/**
+ * Records the JDBC statements and entities each request needed, including those run while authenticating, as the
+ * {@code recipes.request.statements} and {@code recipes.request.entities} distribution summaries tagged by method and
+ * URI pattern. An endpoint whose statement count grows with its result size is doing N+1 work.
+ * <p>
+ * For asynchronous requests the counts are recorded once the request completes. A {@link StreamingResponseBody} runs
+ * on an MVC task thread, so it is only counted if wrapped with {@link #counted(StreamingResponseBody)}. {@code @Async}
+ * tasks are not counted: they are not part of any request and may outlive it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Wraps a streaming response body so that the statements it runs on the MVC task thread are added to the counts of
+     * the request that returned it. Must be called on the request thread.
+     *
+     * @param body The body to wrap.
+     * @return The counted body.
+     */
+    public static StreamingResponseBody counted(StreamingResponseBody body) {
+        QueryCounts counts = QueryCounts.current();
+        return out -> {
+            QueryCounts.resume(counts);
+            try {
+                body.writeTo(out);
+            } finally {
+                QueryCounts.stop();
+            }
+        };
+    }
+
+    /**
+     * Skips the forward to the error page, which would otherwise start new counts and record the failed request a
+     * second time, under the {@code /error} pattern.
+     */
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounts counts = QueryCounts.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounts.stop();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new RecordOnComplete(request, counts));
+            } else {
+                record(request, counts);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryCounts counts) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern == null ? UNKNOWN_URI : pattern.toString());
+        DistributionSummary.builder("recipes.request.statements")
+                .description("JDBC statements prepared per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(counts.statements());
+        DistributionSummary.builder("recipes.request.entities")
+                .description("Entities loaded per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(counts.entities());
+        log.debug("{} {} ran {} statements and loaded {} entities", request.getMethod(), request.getRequestURI(),
+                counts.statements(), counts.entities());
+    }
+
+    /**
+     * Records the counts of an asynchronous request once it has completed, after a timeout or error as well.
+     */
+    @RequiredArgsConstructor
+    private final class RecordOnComplete implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final QueryCounts counts;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, counts);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.umbrella.recipes.web.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Converts the JSON array text stored in the recipe row back into lists of strings for MapStruct mappers.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonListMapper {
+
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    public List<String> fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, STRING_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to read JSON array: " + json, e);
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.umbrella.recipes.web.mapper;
 
+import com.umbrella.recipes.persistence.RecipeView;
 import com.umbrella.recipes.web.dto.RecipeDTO;
 import com.umbrella.recipes.model.RecipeModel;
 import org.mapstruct.*;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = JsonListMapper.class)
 public interface RecipeMapper {
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     RecipeDTO toDTO(RecipeModel recipe);
 
+    RecipeDTO toDTO(RecipeView recipe);
+
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "categoryKey", ignore = true)
     void updateRecipeFromDTO(RecipeModel reqBody, @MappingTarget RecipeModel recipe);
 }
@@ -0,0 +1,23 @@
+-- Schema of the embedded H2 database used by the h2 profile, which always starts empty.
+
+CREATE TABLE user_model
+(
+    username  varchar(255) NOT NULL PRIMARY KEY,
+    authority varchar(255),
+    password  varchar(255)
+);
+
+CREATE TABLE recipe_model
+(
+    recipe_id        bigint       NOT NULL PRIMARY KEY,
+    category         varchar(255),
+    date             timestamp(6),
+    description      varchar(255),
+    name             varchar(255),
+    version          bigint       DEFAULT 0 NOT NULL,
+    ingredients_json json,
+    directions_json  json,
+    username         varchar(255) REFERENCES user_model (username)
+);
+
+CREATE SEQUENCE recipe_id_seq START WITH 1 INCREMENT BY 50;
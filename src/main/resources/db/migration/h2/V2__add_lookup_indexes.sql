@@ -0,0 +1,6 @@
+-- H2 has no expression indexes, so the category index is on the plain column.
+CREATE INDEX recipe_model_category_date_idx
+    ON recipe_model (category, date DESC, recipe_id DESC);
+
+CREATE INDEX recipe_model_username_idx
+    ON recipe_model (username);
@@ -0,0 +1,3 @@
+-- Ingredients and directions are stored only as JSON in the recipe row.
+ALTER TABLE recipe_model ALTER COLUMN ingredients_json SET NOT NULL;
+ALTER TABLE recipe_model ALTER COLUMN directions_json SET NOT NULL;
@@ -0,0 +1,50 @@
+-- Baseline of the schema previously maintained by spring.jpa.hibernate.ddl-auto=update. Every statement is
+-- idempotent, so the script brings both empty databases and databases created by any earlier release up to date.
+
+CREATE TABLE IF NOT EXISTS user_model
+(
+    username  varchar(255) NOT NULL PRIMARY KEY,
+    authority varchar(255),
+    password  varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS recipe_model
+(
+    recipe_id        bigint       NOT NULL PRIMARY KEY,
+    category         varchar(255),
+    date             timestamp(6),
+    description      varchar(255),
+    name             varchar(255),
+    version          bigint       DEFAULT 0 NOT NULL,
+    ingredients_json jsonb,
+    directions_json  jsonb,
+    username         varchar(255) REFERENCES user_model (username)
+);
+
+ALTER TABLE recipe_model ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+
+-- Recipe IDs: dedicated pooled-lo sequence, see RecipeIdGenerator. INCREMENT BY must equal
+-- spring.jpa.properties.recipes.id.allocation-size. Recipes created before the sequence existed used
+-- recipe_model_seq, so the sequence is moved past the highest existing ID whenever its next block would overlap it.
+CREATE SEQUENCE IF NOT EXISTS recipe_id_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('recipe_id_seq', ids.max_id + 1, false)
+FROM (SELECT MAX(recipe_id) AS max_id FROM recipe_model) ids,
+     pg_sequences seq
+WHERE seq.schemaname = current_schema()
+  AND seq.sequencename = 'recipe_id_seq'
+  AND ids.max_id >= COALESCE(seq.last_value + seq.increment_by, seq.start_value);
+
+-- Ingredients and directions are stored as JSON in the recipe row, see RecipeModel. V4 fills them in for rows written
+-- by earlier releases.
+ALTER TABLE recipe_model ADD COLUMN IF NOT EXISTS ingredients_json jsonb;
+ALTER TABLE recipe_model ADD COLUMN IF NOT EXISTS directions_json jsonb;
+
+-- Search indexes
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS recipe_model_name_trgm_idx
+    ON recipe_model USING gin (name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS recipe_model_text_search_idx
+    ON recipe_model USING gin (to_tsvector('english', name || ' ' || description));
@@ -0,0 +1,7 @@
+-- Category searches filter on UPPER(category) and order by (date, recipe_id) descending, see RecipesRepository.
+CREATE INDEX IF NOT EXISTS recipe_model_category_date_idx
+    ON recipe_model (UPPER(category), date DESC, recipe_id DESC);
+
+-- Recipes by owner, and the foreign key checks when a user is deleted.
+CREATE INDEX IF NOT EXISTS recipe_model_username_idx
+    ON recipe_model (username);
@@ -0,0 +1,11 @@
+-- Categories are compared case-insensitively through a lower-cased key kept by RecipeModel, so the lookups can use a
+-- plain index instead of UPPER(category).
+ALTER TABLE recipe_model ADD COLUMN IF NOT EXISTS category_key varchar(255);
+
+UPDATE recipe_model SET category_key = lower(trim(category))
+    WHERE category_key IS NULL AND category IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS recipe_model_category_key_date_idx
+    ON recipe_model (category_key, date DESC, recipe_id DESC);
+
+DROP INDEX IF EXISTS recipe_model_category_date_idx;
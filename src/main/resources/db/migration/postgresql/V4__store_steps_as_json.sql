@@ -0,0 +1,32 @@
+-- Ingredients and directions are stored only as JSON in the recipe row. Databases created by earlier releases kept
+-- them in the recipe_model_ingredients and recipe_model_directions collection tables, which had no order column, so
+-- their rows are copied in the order they were stored before the tables are dropped.
+DO
+$$
+    BEGIN
+        IF to_regclass('recipe_model_ingredients') IS NOT NULL THEN
+            UPDATE recipe_model r
+            SET ingredients_json = COALESCE((SELECT jsonb_agg(i.ingredients ORDER BY i.ctid)
+                                             FROM recipe_model_ingredients i
+                                             WHERE i.recipe_model_recipe_id = r.recipe_id), '[]'::jsonb)
+            WHERE r.ingredients_json IS NULL;
+        END IF;
+        IF to_regclass('recipe_model_directions') IS NOT NULL THEN
+            UPDATE recipe_model r
+            SET directions_json = COALESCE((SELECT jsonb_agg(d.directions ORDER BY d.ctid)
+                                            FROM recipe_model_directions d
+                                            WHERE d.recipe_model_recipe_id = r.recipe_id), '[]'::jsonb)
+            WHERE r.directions_json IS NULL;
+        END IF;
+    END
+$$;
+
+ALTER TABLE recipe_model ALTER COLUMN ingredients_json SET NOT NULL;
+ALTER TABLE recipe_model ALTER COLUMN directions_json SET NOT NULL;
+
+-- Full-text search over ingredients reads the string values of the JSON array.
+CREATE INDEX IF NOT EXISTS recipe_model_ingredients_json_text_search_idx
+    ON recipe_model USING gin (jsonb_to_tsvector('english', ingredients_json, '["string"]'));
+
+DROP TABLE IF EXISTS recipe_model_ingredients;
+DROP TABLE IF EXISTS recipe_model_directions;
@@ -0,0 +1,154 @@
+package com.umbrella.recipes.controller;
+
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.UserRepository;
+import com.umbrella.recipes.web.dto.RegistrationRequest;
+import com.umbrella.recipes.web.dto.TokenResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Covers token login and bearer authentication through the servlet filter chain with bearer tokens enabled.
+ */
+@Testcontainers
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "recipes.security.token.enabled=true",
+        "recipes.security.token.secret=0123456789abcdef0123456789abcdef"
+})
+public class BearerTokenIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    static String PASS = "test1234";
+
+    @BeforeEach
+    void setUp() {
+        userRepository.saveAndFlush(new UserModel("test3@test.com", passwordEncoder.encode(PASS), "ROLE_USER"));
+    }
+
+    //=========================================Login===============================================================
+
+    @Test
+    void login_ShouldIssueToken_WhenUserIsAuthenticated() {
+
+        // Act
+        ResponseEntity<TokenResponse> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .postForEntity("/api/login", null, TokenResponse.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().token()).isNotBlank();
+        assertThat(response.getBody().tokenType()).isEqualTo("Bearer");
+        assertThat(response.getBody().expiresIn()).isEqualTo(3600);
+    }
+
+    @Test
+    void login_ShouldReturnUnauthorized_WhenAuthenticatedWithBearerToken() {
+        // Arrange
+        String token = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .postForEntity("/api/login", null, TokenResponse.class).getBody().token();
+
+        // Act
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/login",
+                new HttpEntity<>(provideBearerHeaders(token)), String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE)).startsWith("Basic");
+    }
+
+    //=========================================Bearer Authentication===============================================
+
+    @Test
+    void searchRecipe_ShouldAuthenticate_WhenBearerTokenIsValid() {
+        // Arrange
+        String token = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .postForEntity("/api/login", null, TokenResponse.class).getBody().token();
+
+        // Act
+        ResponseEntity<String> response = restTemplate.exchange("/api/recipe/search?category=missingNO",
+                HttpMethod.GET, new HttpEntity<>(provideBearerHeaders(token)), String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isEqualTo("No recipes found for missingNO: missingNO");
+    }
+
+    @Test
+    void searchRecipe_ShouldReturnUnauthorized_WhenBearerTokenIsForged() {
+        // Arrange
+        String token = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .postForEntity("/api/login", null, TokenResponse.class).getBody().token();
+        String forged = token.substring(0, token.lastIndexOf('.') + 1) + "AAAA";
+
+        // Act
+        ResponseEntity<String> response = restTemplate.exchange("/api/recipe/search?category=missingNO",
+                HttpMethod.GET, new HttpEntity<>(provideBearerHeaders(forged)), String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE)).contains("invalid_token");
+    }
+
+    @Test
+    void register_ShouldReturnUnauthorized_WhenBearerTokenIsInvalid() {
+        // Arrange
+        RegistrationRequest request = new RegistrationRequest("bearer@test.com", PASS);
+
+        // Act
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/register",
+                new HttpEntity<>(request, provideBearerHeaders("not-a-token")), String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(userRepository.existsByUsername("bearer@test.com")).isFalse();
+    }
+
+    @Test
+    void register_ShouldRegisterUser_WhenNoBearerTokenIsSent() {
+        // Arrange
+        RegistrationRequest request = new RegistrationRequest("plain@test.com", PASS);
+
+        // Act
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/register", request, String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(userRepository.existsByUsername("plain@test.com")).isTrue();
+    }
+
+    static HttpHeaders provideBearerHeaders(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+}
@@ -0,0 +1,75 @@
+package com.umbrella.recipes.controller;
+
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Searches with {@code recipes.search.not-found-on-empty=false}, which answers a search that matches nothing with
+ * 200 and an empty list instead of the default 404.
+ */
+@Testcontainers
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "recipes.search.not-found-on-empty=false")
+public class EmptySearchResultIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    static String PASS = "test1234";
+
+    @BeforeEach
+    void setUp() {
+        userRepository.saveAndFlush(new UserModel("test3@test.com", passwordEncoder.encode(PASS), "ROLE_USER"));
+    }
+
+    @Test
+    void searchRecipe_ShouldReturnEmptyList_WhenCategoryNotFound() {
+
+        // Act
+        ResponseEntity<String> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .getForEntity("/api/recipe/search?category=missingNO", String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("[]");
+    }
+
+    @Test
+    void searchRecipe_ShouldReturnEmptyList_WhenNameDoesNotExists() {
+
+        // Act
+        ResponseEntity<String> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .getForEntity("/api/recipe/search?name=missingNO", String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("[]");
+    }
+}
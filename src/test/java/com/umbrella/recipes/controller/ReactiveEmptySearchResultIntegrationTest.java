@@ -0,0 +1,10 @@
+package com.umbrella.recipes.controller;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the {@link EmptySearchResultIntegrationTest} cases against the {@code reactive} profile.
+ */
+@ActiveProfiles("reactive")
+public class ReactiveEmptySearchResultIntegrationTest extends EmptySearchResultIntegrationTest {
+}
@@ -0,0 +1,116 @@
+package com.umbrella.recipes.controller;
+
+import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.web.dto.RegistrationRequest;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the {@link RecipeControllerIntegrationTest} cases against the WebFlux and R2DBC stack of the {@code reactive}
+ * profile. Only the cases that depend on servlet-specific behaviour are replaced.
+ */
+@SuppressWarnings("rawtypes")
+@ActiveProfiles("reactive")
+@TestPropertySource(properties = "recipes.import.max-size=1KB")
+public class ReactiveRecipeControllerIntegrationTest extends RecipeControllerIntegrationTest {
+
+    //=========================================Post Mapping=========================================================
+
+    @Override
+    @Disabled("WebFlux answers invalid bodies with 400 itself instead of forwarding to the secured error page")
+    @Test
+    void saveRecipe_ShouldReturnForbidden_WhenRecipeIsInvalid() {
+    }
+
+    @Test
+    void saveRecipe_ShouldReturnBadRequest_WhenRecipeIsInvalid() {
+        // Arrange
+        RecipeModel recipeModel = provideInvalidRecipeModel();
+
+        // Act
+        ResponseEntity<?> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .postForEntity("/api/recipe/new", recipeModel, Map.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void saveRecipe_ShouldAllocateIdsFromReservedBlock_WhenRecipesAreCreatedInTurn() {
+        // Arrange
+        RecipeModel recipeModel = provideRecipeModel();
+        List<Long> ids = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            ResponseEntity<Map> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                    .postForEntity("/api/recipe/new", recipeModel, Map.class);
+            ids.add(((Number) response.getBody().get("Recipe created for id")).longValue());
+        }
+
+        // Assert
+        // At most one of the two steps crosses into a newly reserved block.
+        assertThat(List.of(ids.get(1) - ids.get(0), ids.get(2) - ids.get(1))).contains(1L);
+    }
+
+    @Test
+    void importRecipes_ShouldReturnPayloadTooLarge_WhenBodyExceedsMaxSize() {
+        // Arrange
+        String line = """
+                {"name":"import","description":"d","category":"imported","ingredients":["i"],"directions":["d"]}
+                """;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+
+        // Act
+        ResponseEntity<String> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .postForEntity("/api/recipe/import", new HttpEntity<>(line.repeat(20), headers), String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    //=========================================Register============================================================
+
+    @Test
+    void register_ShouldRegisterUser_WhenEmailIsNew() {
+        // Arrange
+        RegistrationRequest request = new RegistrationRequest("reactive@test.com", PASS);
+
+        // Act
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/register", request, String.class);
+        ResponseEntity<String> categories = restTemplate.withBasicAuth("reactive@test.com", PASS)
+                .getForEntity("/api/categories", String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("New user successfully registered");
+        assertThat(categories.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void register_ShouldReturnBadRequest_WhenUserAlreadyExists() {
+        // Arrange
+        RegistrationRequest request = new RegistrationRequest("test3@test.com", PASS);
+
+        // Act
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/register", request, String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).isEqualTo("User already exists");
+    }
+}
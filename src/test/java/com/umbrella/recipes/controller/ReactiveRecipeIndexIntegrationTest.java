@@ -0,0 +1,151 @@
+package com.umbrella.recipes.controller;
+
+import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.RecipesRepository;
+import com.umbrella.recipes.persistence.UserRepository;
+import com.umbrella.recipes.search.InMemoryRecipeSearch;
+import com.umbrella.recipes.service.RecipeChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recipe changes on the {@code reactive} profile with the in-memory search index, whose listener reads the changed
+ * recipe back over JPA. The change events must only be published once the R2DBC transaction has committed, and not
+ * on the event loop.
+ */
+@Testcontainers
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "recipes.search.backend=index")
+@ActiveProfiles("reactive")
+public class ReactiveRecipeIndexIntegrationTest {
+
+    private static final String USERNAME = "index@test.com";
+    private static final String PASS = "test1234";
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private RecipesRepository recipesRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private InMemoryRecipeSearch inMemoryRecipeSearch;
+
+    @Autowired
+    private EventThreads eventThreads;
+
+    private RecipeModel recipe;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        UserModel user = userRepository.saveAndFlush(
+                new UserModel(USERNAME, passwordEncoder.encode(PASS), "ROLE_USER"));
+        recipe = recipesRepository.saveAndFlush(provideRecipeModel(user, "Pumpkin soup"));
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!inMemoryRecipeSearch.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        eventThreads.threads.clear();
+    }
+
+    //=========================================Put Mapping=========================================================
+
+    @Test
+    void updateRecipe_ShouldIndexCommittedRecipe_WhenSearchBackendIsIndex() {
+        // Arrange
+        RecipeModel recipeRequest = provideRecipeModel(null, "Zucchini bread");
+
+        // Act
+        ResponseEntity<String> response = restTemplate.withBasicAuth(USERNAME, PASS)
+                .exchange("/api/recipe/" + recipe.getRecipeId(), HttpMethod.PUT, new HttpEntity<>(recipeRequest),
+                        String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(inMemoryRecipeSearch.search("zucchini", 10)).containsExactly(recipe.getRecipeId());
+        assertThat(inMemoryRecipeSearch.search("pumpkin", 10)).isEmpty();
+        assertThat(eventThreads.threads).isNotEmpty().noneMatch(thread -> thread.startsWith("reactor-http"));
+    }
+
+    //=========================================Delete Mapping======================================================
+
+    @Test
+    void deleteRecipe_ShouldRemoveRecipeFromIndex_WhenSearchBackendIsIndex() {
+        // Act
+        ResponseEntity<String> response = restTemplate.withBasicAuth(USERNAME, PASS)
+                .exchange("/api/recipe/" + recipe.getRecipeId(), HttpMethod.DELETE, null, String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(inMemoryRecipeSearch.search("pumpkin", 10)).isEmpty();
+        assertThat(eventThreads.threads).isNotEmpty().noneMatch(thread -> thread.startsWith("reactor-http"));
+    }
+
+    static RecipeModel provideRecipeModel(UserModel user, String name) {
+        return RecipeModel.builder()
+                .name(name)
+                .description("Seasonal recipe")
+                .category("Lunch")
+                .ingredients(List.of(name.toLowerCase(), "salt"))
+                .directions(List.of("cook"))
+                .userModel(user)
+                .build();
+    }
+
+    /**
+     * Records the thread every recipe change event is delivered on.
+     */
+    static class EventThreads {
+
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+
+        @TransactionalEventListener(fallbackExecution = true)
+        public void onRecipeChanged(RecipeChangedEvent event) {
+            threads.add(Thread.currentThread().getName());
+        }
+    }
+
+    @TestConfiguration
+    static class EventThreadsConfig {
+
+        @Bean
+        EventThreads eventThreads() {
+            return new EventThreads();
+        }
+    }
+}
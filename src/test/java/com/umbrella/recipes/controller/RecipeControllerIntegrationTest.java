@@ -1,10 +1,13 @@
 package com.umbrella.recipes.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.umbrella.recipes.model.RecipeModel;
 import com.umbrella.recipes.model.UserModel;
 import com.umbrella.recipes.persistence.RecipesRepository;
 import com.umbrella.recipes.persistence.UserRepository;
 import com.umbrella.recipes.web.dto.RecipeDTO;
+import com.umbrella.recipes.web.dto.RecipeImportError;
+import com.umbrella.recipes.web.dto.RecipeImportResult;
 import com.umbrella.recipes.web.mapper.RecipeMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +25,7 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -38,7 +42,7 @@ public class RecipeControllerIntegrationTest {
     private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
 
     @Autowired
-    private TestRestTemplate restTemplate;
+    TestRestTemplate restTemplate;
 
     @Autowired
     private  RecipesRepository recipesRepository;
@@ -52,7 +56,10 @@ public class RecipeControllerIntegrationTest {
     @Autowired
     PasswordEncoder passwordEncoder;
 
-    private static String PASS = "test1234";
+    @Autowired
+    ObjectMapper objectMapper;
+
+    static String PASS = "test1234";
 
     List<RecipeModel> li;
 
@@ -75,7 +82,7 @@ public class RecipeControllerIntegrationTest {
     @Test
     void getRecipe_ShouldReturnRecipe_WhenIdExists() {
         // Arrange
-        RecipeDTO expectedResponse = recipeMapper.toDTO(recipesRepository.findByIdEager(1L).get());
+        RecipeDTO expectedResponse = recipeMapper.toDTO(recipesRepository.findViewById(1L).orElseThrow());
 
         // Act
         ResponseEntity<?> response = restTemplate.withBasicAuth("test3@test.com", PASS)
@@ -174,6 +181,85 @@ public class RecipeControllerIntegrationTest {
         assertThat(responseName.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
     }
 
+    @Test
+    void searchRecipe_ShouldReturnBadRequest_WhenCursorIsInvalid() {
+
+        // Act
+        ResponseEntity<String> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .getForEntity("/api/recipe/search?category=cat1&limit=1&cursor=not-a-cursor", String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void searchRecipe_ShouldReturnOk_WhenIfModifiedSinceIsSentAfterMatchedRecipeWasDeleted() {
+        // Arrange
+        UserModel user = li.get(0).getUserModel();
+        RecipeModel kept = provideRecipeModel();
+        kept.setRecipeId(null);
+        kept.setCategory("revalidated");
+        kept.setUserModel(user);
+        RecipeModel deleted = provideRecipeModel();
+        deleted.setRecipeId(null);
+        deleted.setCategory("revalidated");
+        deleted.setUserModel(user);
+        recipesRepository.save(kept);
+        Long deletedId = recipesRepository.save(deleted).getRecipeId();
+
+        ResponseEntity<String> first = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .getForEntity("/api/recipe/search?category=revalidated", String.class);
+        restTemplate.withBasicAuth("test3@test.com", PASS)
+                .exchange("/api/recipe/" + deletedId, HttpMethod.DELETE, null, String.class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfModifiedSince(ZonedDateTime.now().plusMinutes(1));
+
+        // Act
+        ResponseEntity<List<RecipeDTO>> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .exchange("/api/recipe/search?category=revalidated", HttpMethod.GET, new HttpEntity<>(headers),
+                        new ParameterizedTypeReference<>() {});
+
+        // Assert
+        assertThat(first.getHeaders().getLastModified()).isEqualTo(-1L);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().size()).isEqualTo(1);
+    }
+
+    @Test
+    void streamRecipes_ShouldWriteOneRecipePerLine_WhenNdjsonIsAccepted() throws Exception {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+
+        // Act
+        ResponseEntity<String> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .exchange("/api/recipe/search?category=cat1", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType().isCompatibleWith(MediaType.APPLICATION_NDJSON)).isTrue();
+        List<String> lines = response.getBody().lines().filter(line -> !line.isBlank()).toList();
+        assertThat(lines).hasSize(2);
+        for (String line : lines) {
+            assertThat(objectMapper.readValue(line, RecipeDTO.class).category()).isEqualTo("cat1");
+        }
+    }
+
+    @Test
+    void streamRecipes_ShouldReturnBadRequest_WhenCategoryAndNameAreBothGiven() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+
+        // Act
+        ResponseEntity<String> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .exchange("/api/recipe/search?category=cat1&name=test", HttpMethod.GET, new HttpEntity<>(headers),
+                        String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
     //=========================================Post Mapping=========================================================
     @Test
     @Rollback
@@ -187,7 +273,35 @@ public class RecipeControllerIntegrationTest {
 
         // Assert
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
-        assertThat(response.getBody()).containsEntry("Recipe created for id", 3);
+        assertThat(response.getBody().get("Recipe created for id")).isInstanceOf(Number.class);
+        long id = ((Number) response.getBody().get("Recipe created for id")).longValue();
+        assertThat(id).isPositive();
+
+        ResponseEntity<RecipeDTO> created = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .getForEntity("/api/recipe/" + id, RecipeDTO.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(created.getBody().name()).isEqualTo("TEST POST");
+    }
+
+    @Test
+    void saveRecipe_ShouldIgnoreIdAndVersion_WhenSentInBody() {
+        // Arrange
+        Map<String, Object> recipe = Map.of(
+                "recipeId", 99,
+                "version", 0,
+                "name", "TEST POST",
+                "description", "test",
+                "category", "test",
+                "ingredients", List.of("test"),
+                "directions", List.of("test"));
+
+        // Act
+        ResponseEntity<Map> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .postForEntity("/api/recipe/new", recipe, Map.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody().get("Recipe created for id")).isNotNull().isNotEqualTo(99);
     }
 
     @Test
@@ -214,6 +328,28 @@ public class RecipeControllerIntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
     }
 
+    @Test
+    void importRecipes_ShouldImportValidRecipesAndReportInvalidOnes_WhenNdjsonIsPosted() {
+        // Arrange
+        String body = """
+                {"name":"import 1","description":"d","category":"imported","ingredients":["i"],"directions":["d"]}
+                {"name":"","description":"d","category":"imported","ingredients":["i"],"directions":["d"]}
+                {"name":"import 3","description":"d","category":"imported","ingredients":["i"],"directions":["d"]}
+                """;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+
+        // Act
+        ResponseEntity<RecipeImportResult> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .postForEntity("/api/recipe/import", new HttpEntity<>(body, headers), RecipeImportResult.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().received()).isEqualTo(3);
+        assertThat(response.getBody().imported()).isEqualTo(2);
+        assertThat(response.getBody().errors()).extracting(RecipeImportError::index).containsExactly(1);
+    }
+
 
     //=========================================Put Mapping=========================================================
 
@@ -237,6 +373,25 @@ public class RecipeControllerIntegrationTest {
         assertThat(updatedRecipe.getCategory()).isEqualTo("new category");
     }
 
+    @Test
+    void updateRecipe_ShouldReturnPreconditionFailed_WhenIfMatchIsStale() {
+        // Arrange
+        RecipeModel recipeModel = provideRecipeModel();
+        recipeModel.setCategory("stale category");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch("\"999\"");
+
+        // Act
+        ResponseEntity<?> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .exchange("/api/recipe/3", HttpMethod.PUT, new HttpEntity<>(recipeModel, headers), String.class);
+
+        RecipeModel unchangedRecipe = recipesRepository.findById(3L).get();
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(unchangedRecipe.getCategory()).isNotEqualTo("stale category");
+    }
+
     @Test
     void updateRecipe_ShouldReturnUnauthorized_WhenUserIsNotAuthenticated() {
         // Arrange
@@ -274,7 +429,39 @@ public class RecipeControllerIntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
     }
 
+    //=========================================Actuator============================================================
 
+    @Test
+    void health_ShouldBeReachable_WhenUserIsNotAuthenticated() {
+        // Act
+        ResponseEntity<?> response = restTemplate.getForEntity("/actuator/health", String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void prometheus_ShouldReturnForbidden_WhenUserLacksActuatorRole() {
+        // Act
+        ResponseEntity<?> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .getForEntity("/actuator/prometheus", String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    void metrics_ShouldReturnOk_WhenUserHasActuatorRole() {
+        // Arrange
+        userRepository.saveAndFlush(new UserModel("ops@test.com", passwordEncoder.encode(PASS), "ROLE_ACTUATOR"));
+
+        // Act
+        ResponseEntity<?> response = restTemplate.withBasicAuth("ops@test.com", PASS)
+                .getForEntity("/actuator/metrics", String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
 
     static RecipeModel provideRecipeModel() {
         return RecipeModel.builder()
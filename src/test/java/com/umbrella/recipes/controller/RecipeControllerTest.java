@@ -2,11 +2,18 @@ package com.umbrella.recipes.controller;
 
 import com.umbrella.recipes.config.SecurityConfig;
 import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.RecipeRevision;
+import com.umbrella.recipes.persistence.RecipeSearchVersion;
+import com.umbrella.recipes.persistence.RecipeVersion;
 import com.umbrella.recipes.web.dto.RecipeDTO;
+import com.umbrella.recipes.web.dto.RecipePage;
 import com.umbrella.recipes.web.exception.RecipeNotFoundException;
+import com.umbrella.recipes.web.exception.RecipeVersionMismatchException;
 import com.umbrella.recipes.web.mapper.RecipeMapper;
 import com.umbrella.recipes.model.RecipeModel;
 import com.umbrella.recipes.service.RecipeService;
+import com.umbrella.recipes.service.VersionedRecipe;
+import com.umbrella.recipes.service.VersionedRecipes;
 import com.umbrella.recipes.web.controller.RecipeController;
 import com.umbrella.recipes.web.mapper.RecipeMapperImpl;
 import org.junit.jupiter.api.Test;
@@ -18,12 +25,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.context.request.ServletWebRequest;
 
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -31,6 +43,8 @@ import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @Import(SecurityConfig.class)
@@ -62,10 +76,11 @@ public class RecipeControllerTest {
     void testGetRecipe_ShouldReturnRecipe(RecipeModel recipeModel) {
         // Arrange
         RecipeDTO recipeDTO = recipeMapper.toDTO(recipeModel);
-        when(recipeService.getRecipe(recipeModel.getRecipeId())).thenReturn(Optional.of(recipeDTO));
+        when(recipeService.getVersionedRecipe(recipeModel.getRecipeId())).thenReturn(new VersionedRecipe(recipeDTO,
+                new RecipeVersion(recipeModel.getRecipeId(), 0L, LocalDateTime.of(2023, 11, 1, 12, 0))));
 
         // Act
-        ResponseEntity<RecipeDTO> recipe = recipeController.getRecipe(recipeModel.getRecipeId());
+        ResponseEntity<RecipeDTO> recipe = recipeController.getRecipe(recipeModel.getRecipeId(), provideWebRequest());
 
         // Assert
         assertThat(recipe.getBody()).isEqualTo(recipeDTO);
@@ -73,45 +88,154 @@ public class RecipeControllerTest {
     }
 
     @Test
-    void testGetRecipe_ShouldReturnNotFound() {
+    void testGetRecipe_ShouldThrowNotFound_WhenRecipeDoesNotExist() {
         // Arrange
-        when(recipeService.getRecipe(1L)).thenReturn(Optional.empty());
+        when(recipeService.getVersionedRecipe(1L)).thenThrow(new RecipeNotFoundException("Recipe not found for ID: 1"));
+
+        // Assert
+        assertThatThrownBy(() -> recipeController.getRecipe(1L, provideWebRequest()))
+                .isInstanceOf(RecipeNotFoundException.class);
+    }
+
+    @Test
+    void testGetRecipe_ShouldReturnNotModified_WhenETagMatches() {
+        // Arrange
+        RecipeVersion version = new RecipeVersion(1L, 3L, LocalDateTime.of(2023, 11, 1, 12, 0));
+        when(recipeService.getVersionedRecipe(1L))
+                .thenReturn(new VersionedRecipe(recipeMapper.toDTO(provideRecipeModel()), version));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recipe/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, version.eTag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
 
         // Act
-        ResponseEntity<RecipeDTO> recipe = recipeController.getRecipe(1L);
+        ResponseEntity<RecipeDTO> recipe = recipeController.getRecipe(1L, new ServletWebRequest(request, response));
 
         // Assert
-        assertThat(recipe.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(recipe).isNull();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(version.eTag());
     }
 
     @Test
     void testSearchRecipeByCategory_ShouldReturnRecipes() {
         // Arrange
         List<RecipeDTO> expectedResults = List.of(recipeMapper.toDTO(provideRecipeModel()));
-        when(recipeService.searchRecipeByCategory("Lunch")).thenReturn(expectedResults);
+        when(recipeService.searchVersionedRecipesByCategory("Lunch"))
+                .thenReturn(new VersionedRecipes(expectedResults, provideSearchVersion()));
 
         // Act
-        ResponseEntity<List<RecipeDTO>> recipes = recipeController.searchRecipe("Lunch", null);
+        ResponseEntity<List<RecipeDTO>> recipes = recipeController.searchRecipe("Lunch", null, provideWebRequest());
 
         // Assert
         assertThat(recipes.getBody()).isEqualTo(expectedResults);
         assertThat(recipes.getStatusCode()).isEqualTo(HttpStatus.OK);
     }
 
+    @Test
+    void testSearchRecipeByCategory_ShouldTagResponseWithoutVersionQuery_WhenRequestIsUnconditional() {
+        // Arrange
+        RecipeSearchVersion version = provideSearchVersion();
+        when(recipeService.searchVersionedRecipesByCategory("Lunch")).thenReturn(
+                new VersionedRecipes(List.of(recipeMapper.toDTO(provideRecipeModel())), version));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        ResponseEntity<List<RecipeDTO>> recipes = recipeController.searchRecipe("Lunch", null,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/recipe/search"), response));
+
+        // Assert
+        assertThat(recipes.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(version.eTag());
+        assertThat(response.getHeader(HttpHeaders.LAST_MODIFIED)).isNull();
+        verify(recipeService, never()).searchRecipeVersionByCategory("Lunch");
+    }
+
+    @Test
+    void testSearchRecipeByCategory_ShouldReturnNotModified_WhenWeakETagMatches() {
+        // Arrange
+        RecipeSearchVersion version = provideSearchVersion();
+        when(recipeService.searchRecipeVersionByCategory("Lunch")).thenReturn(Optional.of(version));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recipe/search");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, version.eTag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        ResponseEntity<List<RecipeDTO>> recipes =
+                recipeController.searchRecipe("Lunch", null, new ServletWebRequest(request, response));
+
+        // Assert
+        assertThat(recipes).isNull();
+        assertThat(version.eTag()).startsWith("W/\"2-");
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+    }
+
+    @Test
+    void testSearchVersionETag_ShouldChange_WhenSumsOfIdsAndVersionsAreUnchanged() {
+        // Arrange
+        RecipeSearchVersion before =
+                RecipeSearchVersion.of(List.of(new RecipeRevision(1L, 2L), new RecipeRevision(4L, 1L)));
+        RecipeSearchVersion after =
+                RecipeSearchVersion.of(List.of(new RecipeRevision(2L, 1L), new RecipeRevision(3L, 2L)));
+
+        // Act
+        String eTagBefore = before.eTag();
+        String eTagAfter = after.eTag();
+
+        // Assert
+        assertThat(eTagAfter).isNotEqualTo(eTagBefore);
+    }
+
+    @Test
+    void testSearchVersionETag_ShouldNotThrow_WhenNothingMatched() {
+        // Arrange
+        RecipeSearchVersion version = RecipeSearchVersion.of(List.of());
+
+        // Act
+        String eTag = version.eTag();
+
+        // Assert
+        assertThat(eTag).isEqualTo("W/\"0\"");
+        assertThat(version.lastModifiedMillis()).isEqualTo(-1L);
+    }
+
     @Test
     void testSearchRecipeByName_ShouldReturnRecipes() {
         // Arrange
         List<RecipeDTO> expectedResults = List.of(recipeMapper.toDTO(provideRecipeModel()));
-        when(recipeService.searchRecipeByCategory("Recipe 1")).thenReturn(expectedResults);
+        when(recipeService.searchVersionedRecipesByCategory("Recipe 1"))
+                .thenReturn(new VersionedRecipes(expectedResults, provideSearchVersion()));
 
         // Act
-        ResponseEntity<List<RecipeDTO>> recipes = recipeController.searchRecipe("Recipe 1", null);
+        ResponseEntity<List<RecipeDTO>> recipes = recipeController.searchRecipe("Recipe 1", null, provideWebRequest());
 
         // Assert
         assertThat(recipes.getBody()).isEqualTo(expectedResults);
         assertThat(recipes.getStatusCode()).isEqualTo(HttpStatus.OK);
     }
 
+    @Test
+    void testSearchRecipePageByCategory_ShouldReturnPage() {
+        // Arrange
+        RecipePage expectedPage = new RecipePage(List.of(recipeMapper.toDTO(provideRecipeModel())), "next");
+        when(recipeService.searchRecipePageByCategory("Lunch", 1, null)).thenReturn(expectedPage);
+
+        // Act
+        ResponseEntity<RecipePage> page = recipeController.searchRecipePage("Lunch", null, 1, null);
+
+        // Assert
+        assertThat(page.getBody()).isEqualTo(expectedPage);
+        assertThat(page.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void testSearchRecipePage_ShouldReturnBadRequest_WhenBothParametersProvided() {
+        // Act
+        ResponseEntity<RecipePage> page = recipeController.searchRecipePage("Lunch", "Recipe 1", 1, null);
+
+        // Assert
+        assertThat(page.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
     //========================================Post Mapping=========================================================
 
     @ParameterizedTest
@@ -133,11 +257,11 @@ public class RecipeControllerTest {
     @MethodSource("provideRecipeModels")
     void testUpdateRecipe_ShouldReturnNoContent(RecipeModel recipeModel) {
         // Arrange
-        when(recipeService.updateRecipe(TEST_USERNAME, recipeModel.getRecipeId(), recipeModel)).then(
+        when(recipeService.updateRecipe(TEST_USERNAME, recipeModel.getRecipeId(), recipeModel, null)).then(
                 invocation -> ResponseEntity.status(HttpStatus.NO_CONTENT).build());
 
         // Act
-        ResponseEntity<String> response = recipeController.updateRecipe(userDetails, recipeModel.getRecipeId(), recipeModel);
+        ResponseEntity<String> response = recipeController.updateRecipe(userDetails, recipeModel.getRecipeId(), recipeModel, null);
 
         // Assert
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
@@ -147,16 +271,42 @@ public class RecipeControllerTest {
     void testUpdateRecipe_ShouldReturnNotFound() {
         // Arrange
         RecipeModel recipeModel = provideRecipeModel();
-        when(recipeService.updateRecipe(TEST_USERNAME, recipeModel.getRecipeId(), recipeModel))
+        when(recipeService.updateRecipe(TEST_USERNAME, recipeModel.getRecipeId(), recipeModel, null))
                 .thenThrow(new RecipeNotFoundException("Recipe not found for ID: " + recipeModel.getRecipeId()));
 
         // Assert
-        assertThatThrownBy(() -> recipeController.updateRecipe(userDetails, recipeModel.getRecipeId(), recipeModel))
+        assertThatThrownBy(() -> recipeController.updateRecipe(userDetails, recipeModel.getRecipeId(), recipeModel, null))
                 .isInstanceOf(RecipeNotFoundException.class)
                 .hasMessage("Recipe not found for ID: " + recipeModel.getRecipeId());
     }
 
 
+    @Test
+    void testUpdateRecipe_ShouldPassExpectedVersion_WhenIfMatchProvided() {
+        // Arrange
+        RecipeModel recipeModel = provideRecipeModel();
+        when(recipeService.updateRecipe(TEST_USERNAME, recipeModel.getRecipeId(), recipeModel, 3L)).then(
+                invocation -> ResponseEntity.status(HttpStatus.NO_CONTENT).eTag("\"4\"").build());
+
+        // Act
+        ResponseEntity<String> response = recipeController.updateRecipe(userDetails, recipeModel.getRecipeId(), recipeModel, "\"3\"");
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"4\"");
+    }
+
+    @Test
+    void testUpdateRecipe_ShouldThrowVersionMismatch_WhenIfMatchIsNotARecipeVersion() {
+        // Arrange
+        RecipeModel recipeModel = provideRecipeModel();
+
+        // Assert
+        assertThatThrownBy(() -> recipeController.updateRecipe(userDetails, recipeModel.getRecipeId(), recipeModel, "W/\"3\""))
+                .isInstanceOf(RecipeVersionMismatchException.class);
+    }
+
+
     //=======================================Delete Mapping=========================================================
     @Test
     void testDeleteRecipe_ShouldReturnNoContent() {
@@ -210,4 +360,12 @@ public class RecipeControllerTest {
                         .build())
         );
     }
+
+    private static RecipeSearchVersion provideSearchVersion() {
+        return RecipeSearchVersion.of(List.of(new RecipeRevision(1L, 0L), new RecipeRevision(2L, 3L)));
+    }
+
+    private static ServletWebRequest provideWebRequest() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/api/recipe"), new MockHttpServletResponse());
+    }
 }
@@ -0,0 +1,146 @@
+package com.umbrella.recipes.controller;
+
+import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.RecipesRepository;
+import com.umbrella.recipes.persistence.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.umbrella.recipes.service.RecipeServiceQueryCountTest.provideRecipeModel;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of {@code GET /api/recipe/{id}} under many concurrent clients, served on Tomcat's platform-thread pool
+ * and on virtual threads. Each nested class starts its own server; the recipe cache is disabled so every request
+ * authenticates and reads the recipe from the database. In virtual-thread mode the time threads spent pinned to their
+ * carrier, from the {@code recipes.threads.pinned} timer, is reported as well. Excluded from {@code test}, run with
+ * {@code ./gradlew benchmarkTest}.
+ */
+@Tag("benchmark")
+@Testcontainers
+public class RecipeThroughputBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeThroughputBenchmarkTest.class);
+
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 50;
+    private static final String PASS = "test1234";
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @Nested
+    @ExtendWith(SpringExtension.class)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "recipes.threads.virtual=false",
+            "recipes.cache.max-size=0"})
+    class PlatformThreads extends ThroughputBenchmark {
+    }
+
+    @Nested
+    @ActiveProfiles("virtual")
+    @ExtendWith(SpringExtension.class)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "recipes.threads.pinned-threshold=1ms",
+            "recipes.cache.max-size=0"})
+    class VirtualThreads extends ThroughputBenchmark {
+    }
+
+    abstract static class ThroughputBenchmark {
+
+        @LocalServerPort
+        private int port;
+
+        @Autowired
+        private RecipesRepository recipesRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private PasswordEncoder passwordEncoder;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Test
+        void getRecipe_ShouldServeEveryRequest_WhenClientsAreConcurrent() throws Exception {
+            // Arrange
+            String username = getClass().getSimpleName().toLowerCase() + "@test.com";
+            UserModel user = userRepository.saveAndFlush(
+                    new UserModel(username, passwordEncoder.encode(PASS), "ROLE_USER"));
+            RecipeModel recipe = recipesRepository.saveAndFlush(provideRecipeModel(user, "benchmark", 0));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(
+                            "http://localhost:" + port + "/api/recipe/" + recipe.getRecipeId()))
+                    .header("Authorization", "Basic " + Base64.getEncoder()
+                            .encodeToString((username + ":" + PASS).getBytes(StandardCharsets.UTF_8)))
+                    .build();
+            AtomicInteger succeeded = new AtomicInteger();
+
+            // Act
+            long start = System.nanoTime();
+            try (HttpClient client = HttpClient.newHttpClient();
+                 ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < CLIENTS; i++) {
+                    futures.add(clients.submit(() -> {
+                        for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                                succeeded.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // Assert
+            int requests = CLIENTS * REQUESTS_PER_CLIENT;
+            log.info("{}: {} requests from {} clients in {} ms ({} requests/s)",
+                    getClass().getSimpleName(), requests, CLIENTS, elapsedMillis,
+                    requests * 1000L / Math.max(elapsedMillis, 1));
+            Timer pinned = meterRegistry.find("recipes.threads.pinned").timer();
+            if (pinned != null) {
+                log.info("{}: virtual threads pinned {} times for {} ms in total",
+                        getClass().getSimpleName(), pinned.count(), Math.round(pinned.totalTime(TimeUnit.MILLISECONDS)));
+            }
+            assertThat(succeeded.get()).isEqualTo(requests);
+        }
+    }
+}
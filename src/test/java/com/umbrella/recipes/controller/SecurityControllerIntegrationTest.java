@@ -0,0 +1,93 @@
+package com.umbrella.recipes.controller;
+
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.UserRepository;
+import com.umbrella.recipes.web.dto.RegistrationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Covers registration and token login with bearer tokens left disabled, which is the default configuration.
+ */
+@Testcontainers
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class SecurityControllerIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    static String PASS = "test1234";
+
+    @BeforeEach
+    void setUp() {
+        userRepository.saveAndFlush(new UserModel("test3@test.com", passwordEncoder.encode(PASS), "ROLE_USER"));
+    }
+
+    //=========================================Login===============================================================
+
+    @Test
+    void login_ShouldReturnNotFound_WhenTokensAreDisabled() {
+
+        // Act
+        ResponseEntity<String> response = restTemplate.withBasicAuth("test3@test.com", PASS)
+                .postForEntity("/api/login", null, String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void login_ShouldReturnUnauthorized_WhenUserIsNotAuthenticated() {
+
+        // Act
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/login", null, String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    //=========================================Register============================================================
+
+    @Test
+    void register_ShouldIgnoreBearerHeader_WhenTokensAreDisabled() {
+        // Arrange
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("not-a-token");
+        RegistrationRequest request = new RegistrationRequest("disabled@test.com", PASS);
+
+        // Act
+        ResponseEntity<String> response = restTemplate
+                .postForEntity("/api/register", new HttpEntity<>(request, headers), String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(userRepository.existsByUsername("disabled@test.com")).isTrue();
+    }
+}
@@ -0,0 +1,35 @@
+package com.umbrella.recipes.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("h2")
+public class RecipeIdSequenceCheckTest {
+
+    @Autowired
+    private RecipeIdSequenceCheck sequenceCheck;
+
+    @Test
+    void checkIncrement_ShouldPass_WhenAllocationSizeMatchesMigration() {
+        // Assert
+        assertThatCode(() -> sequenceCheck.checkIncrement(50)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkIncrement_ShouldFailWithSettingAndIncrement_WhenAllocationSizeDiffers() {
+        // Assert
+        assertThatThrownBy(() -> sequenceCheck.checkIncrement(100))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("recipes.id.allocation-size is 100")
+                .hasMessageContaining("increments by 50");
+    }
+}
@@ -0,0 +1,86 @@
+package com.umbrella.recipes.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PostingListTest {
+
+    //=========================================Encoding============================================================
+
+    @Test
+    void fromSorted_ShouldRoundTrip_WhenDeltasNeedSeveralVarintBytes() {
+        // Arrange
+        long[] ids = {1L, 2L, 127L, 128L, 16_383L, 16_384L, 1L << 35, Long.MAX_VALUE};
+
+        // Act
+        PostingList postingList = PostingList.fromSorted(ids, ids.length);
+
+        // Assert
+        assertThat(postingList.size()).isEqualTo(ids.length);
+        assertThat(postingList.toArray()).containsExactly(ids);
+    }
+
+    @Test
+    void fromSorted_ShouldEncodeOnlyPrefix_WhenLengthIsShorter() {
+        // Act
+        PostingList postingList = PostingList.fromSorted(new long[]{3L, 5L, 8L, 0L}, 3);
+
+        // Assert
+        assertThat(postingList.toArray()).containsExactly(3L, 5L, 8L);
+    }
+
+    @Test
+    void fromSorted_ShouldReturnEmpty_WhenLengthIsZero() {
+        // Act
+        PostingList postingList = PostingList.fromSorted(new long[]{1L}, 0);
+
+        // Assert
+        assertThat(postingList).isSameAs(PostingList.EMPTY);
+        assertThat(postingList.toArray()).isEmpty();
+    }
+
+    //=========================================With and Without====================================================
+
+    @Test
+    void with_ShouldAppend_WhenIdIsLargest() {
+        // Act
+        PostingList postingList = PostingList.EMPTY.with(10L).with(300L).with(100_000L);
+
+        // Assert
+        assertThat(postingList.toArray()).containsExactly(10L, 300L, 100_000L);
+    }
+
+    @Test
+    void with_ShouldKeepOrder_WhenIdIsInsertedInTheMiddle() {
+        // Arrange
+        PostingList postingList = PostingList.fromSorted(new long[]{1L, 5L, 900L}, 3);
+
+        // Act
+        PostingList result = postingList.with(200L).with(0L);
+
+        // Assert
+        assertThat(result.toArray()).containsExactly(0L, 1L, 5L, 200L, 900L);
+        assertThat(postingList.toArray()).containsExactly(1L, 5L, 900L);
+    }
+
+    @Test
+    void with_ShouldReturnSameList_WhenIdIsPresent() {
+        // Arrange
+        PostingList postingList = PostingList.fromSorted(new long[]{1L, 5L, 900L}, 3);
+
+        // Act & Assert
+        assertThat(postingList.with(5L)).isSameAs(postingList);
+    }
+
+    @Test
+    void without_ShouldRemoveId_WhenIdIsPresent() {
+        // Arrange
+        PostingList postingList = PostingList.fromSorted(new long[]{1L, 5L, 900L}, 3);
+
+        // Act & Assert
+        assertThat(postingList.without(5L).toArray()).containsExactly(1L, 900L);
+        assertThat(postingList.without(900L).toArray()).containsExactly(1L, 5L);
+        assertThat(postingList.without(7L)).isSameAs(postingList);
+    }
+}
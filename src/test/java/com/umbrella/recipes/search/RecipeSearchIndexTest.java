@@ -0,0 +1,156 @@
+package com.umbrella.recipes.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecipeSearchIndexTest {
+
+    private RecipeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RecipeSearchIndex();
+        index.rebuild(RecipeSearchIndexTest::provideDocuments);
+    }
+
+    //=========================================Tokenization========================================================
+
+    @Test
+    void tokenize_ShouldLowerCaseSplitAndDeduplicate() {
+        // Act
+        String[] tokens = RecipeSearchIndex.tokenize(Arrays.asList("Crème brûlée, 2x EGGS!", null, "eggs a"));
+
+        // Assert
+        assertThat(tokens).containsExactly("crème", "brûlée", "2x", "eggs");
+    }
+
+    //=========================================Search==============================================================
+
+    @Test
+    void search_ShouldReturnNewestFirst_WhenSeveralRecipesMatch() {
+        // Act
+        long[] ids = index.search("TOMATO", 10);
+
+        // Assert
+        assertThat(ids).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void search_ShouldIntersectTokens_WhenQueryHasSeveralWords() {
+        // Act & Assert
+        assertThat(index.search("tomato garlic", 10)).containsExactly(2L);
+        assertThat(index.search("tomato milk", 10)).isEmpty();
+        assertThat(index.search("tomato missingNO", 10)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldApplyLimit_WhenMoreRecipesMatch() {
+        // Act
+        long[] ids = index.search("tomato", 1);
+
+        // Assert
+        assertThat(ids).containsExactly(2L);
+    }
+
+    @Test
+    void search_ShouldReturnEmpty_WhenQueryHasNoTokens() {
+        // Act & Assert
+        assertThat(index.search("a !", 10)).isEmpty();
+    }
+
+    //=========================================Index and Remove====================================================
+
+    @Test
+    void index_ShouldReplaceTokens_WhenRecipeIsIndexedAgain() {
+        // Act
+        index.index(new RecipeSearchIndex.Document(2L, List.of("Pasta", "Mains", "pasta", "zucchini")));
+
+        // Assert
+        assertThat(index.search("tomato", 10)).containsExactly(1L);
+        assertThat(index.search("zucchini", 10)).containsExactly(2L);
+        assertThat(index.search("garlic", 10)).isEmpty();
+        assertThat(index.documentCount()).isEqualTo(3);
+    }
+
+    @Test
+    void index_ShouldAddRecipe_WhenRecipeIsNew() {
+        // Act
+        index.index(new RecipeSearchIndex.Document(4L, List.of("Bruschetta", "Starters", "tomato", "bread")));
+
+        // Assert
+        assertThat(index.search("tomato", 10)).containsExactly(4L, 2L, 1L);
+        assertThat(index.documentCount()).isEqualTo(4);
+    }
+
+    @Test
+    void remove_ShouldDropRecipeAndUnusedTokens_WhenRecipeIsIndexed() {
+        // Arrange
+        int tokenCount = index.tokenCount();
+
+        // Act
+        index.remove(3L);
+
+        // Assert
+        assertThat(index.search("milk", 10)).isEmpty();
+        assertThat(index.documentCount()).isEqualTo(2);
+        assertThat(index.tokenCount()).isEqualTo(tokenCount - 5);
+    }
+
+    @Test
+    void remove_ShouldDoNothing_WhenRecipeIsNotIndexed() {
+        // Act
+        index.remove(99L);
+
+        // Assert
+        assertThat(index.documentCount()).isEqualTo(3);
+        assertThat(index.search("tomato", 10)).containsExactly(2L, 1L);
+    }
+
+    //=========================================Rebuild=============================================================
+
+    @Test
+    void rebuild_ShouldReplayUpdates_WhenMadeWhileDocumentsAreRead() {
+        // Arrange
+        RecipeSearchIndex.Document added =
+                new RecipeSearchIndex.Document(4L, List.of("Bruschetta", "Starters", "tomato", "bread"));
+
+        // Act
+        index.rebuild(() -> provideDocuments().peek(document -> {
+            if (document.recipeId() == 1L) {
+                index.index(added);
+                index.remove(3L);
+            }
+        }));
+
+        // Assert
+        assertThat(index.search("tomato", 10)).containsExactly(4L, 2L, 1L);
+        assertThat(index.search("milk", 10)).isEmpty();
+        assertThat(index.documentCount()).isEqualTo(3);
+    }
+
+    @Test
+    void rebuild_ShouldReplaceIndex_WhenRecipesWereRemovedFromSource() {
+        // Act
+        index.rebuild(() -> provideDocuments().filter(document -> document.recipeId() != 2L));
+
+        // Assert
+        assertThat(index.search("tomato", 10)).containsExactly(1L);
+        assertThat(index.search("garlic", 10)).isEmpty();
+        assertThat(index.documentCount()).isEqualTo(2);
+    }
+
+    //=========================================Provider methods====================================================
+
+    private static Stream<RecipeSearchIndex.Document> provideDocuments() {
+        return Stream.of(
+                new RecipeSearchIndex.Document(1L, List.of("Tomato soup", "Soups", "tomato", "onion")),
+                new RecipeSearchIndex.Document(2L, List.of("Pasta", "Mains", "pasta", "tomato", "garlic")),
+                new RecipeSearchIndex.Document(3L, List.of("Pancakes", "Breakfast", "milk", "egg", "flour")));
+    }
+}
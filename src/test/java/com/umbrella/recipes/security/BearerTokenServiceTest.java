@@ -0,0 +1,104 @@
+package com.umbrella.recipes.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BearerTokenServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final BearerTokenService tokenService = new BearerTokenService(true, SECRET, Duration.ofHours(1));
+
+    //=========================================Issue and Validate==================================================
+
+    @Test
+    void validate_ShouldReturnIssuedUser_WhenTokenIsValid() {
+        // Arrange
+        String token = tokenService.issue(provideUser());
+
+        // Act
+        Optional<UserDetails> user = tokenService.validate(token);
+
+        // Assert
+        assertThat(user).isPresent();
+        assertThat(user.get().getUsername()).isEqualTo("test3@test.com");
+        assertThat(user.get().getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void validate_ShouldReturnEmpty_WhenSignedWithAnotherKey() {
+        // Arrange
+        BearerTokenService otherService = new BearerTokenService(true, SECRET.toUpperCase(), Duration.ofHours(1));
+        String token = otherService.issue(provideUser());
+
+        // Act
+        Optional<UserDetails> user = tokenService.validate(token);
+
+        // Assert
+        assertThat(user).isEmpty();
+    }
+
+    @Test
+    void validate_ShouldReturnEmpty_WhenPayloadIsTampered() {
+        // Arrange
+        String token = tokenService.issue(provideUser());
+        String admin = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("ROLE_ADMIN".getBytes(StandardCharsets.UTF_8));
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + "." + admin + "." + parts[2] + "." + parts[3];
+
+        // Act
+        Optional<UserDetails> user = tokenService.validate(forged);
+
+        // Assert
+        assertThat(user).isEmpty();
+    }
+
+    @Test
+    void validate_ShouldReturnEmpty_WhenTokenIsExpired() {
+        // Arrange
+        BearerTokenService expiringService = new BearerTokenService(true, SECRET, Duration.ofSeconds(-1));
+        String token = expiringService.issue(provideUser());
+
+        // Act
+        Optional<UserDetails> user = tokenService.validate(token);
+
+        // Assert
+        assertThat(user).isEmpty();
+    }
+
+    @Test
+    void validate_ShouldReturnEmpty_WhenTokenIsMalformed() {
+        // Act & Assert
+        assertThat(tokenService.validate("")).isEmpty();
+        assertThat(tokenService.validate("no-dots-at-all")).isEmpty();
+        assertThat(tokenService.validate("payload.not*base64")).isEmpty();
+        assertThat(tokenService.validate("a.b.c.d.e")).isEmpty();
+    }
+
+    //=========================================Configuration=======================================================
+
+    @Test
+    void constructor_ShouldThrow_WhenEnabledWithShortSecret() {
+        // Act & Assert
+        assertThatThrownBy(() -> new BearerTokenService(true, "too short", Duration.ofHours(1)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    static UserDetails provideUser() {
+        return User.withUsername("test3@test.com")
+                .password("")
+                .authorities("ROLE_USER")
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.umbrella.recipes.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CachingAuthenticationProviderTest {
+
+    private static final String TEST_USERNAME = "test@test.com";
+    private static final String TEST_PASSWORD = "test1234";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordEncoder passwordEncoder = spy(new BCryptPasswordEncoder(4));
+    private final VerifiedCredentialCache credentialCache =
+            new VerifiedCredentialCache(meterRegistry, 100, Duration.ofMinutes(5));
+
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider();
+        daoProvider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(TEST_USERNAME)
+                .password(passwordEncoder.encode(TEST_PASSWORD))
+                .authorities("ROLE_USER")
+                .build()));
+        daoProvider.setPasswordEncoder(passwordEncoder);
+        provider = new CachingAuthenticationProvider(daoProvider, credentialCache, meterRegistry);
+    }
+
+    //=========================================Cache Hit===========================================================
+
+    @Test
+    void authenticate_ShouldSkipBCrypt_WhenCredentialsWereVerifiedBefore() {
+        // Arrange
+        provider.authenticate(provideAuthentication(TEST_PASSWORD));
+
+        // Act
+        Authentication result = provider.authenticate(provideAuthentication(TEST_PASSWORD));
+
+        // Assert
+        assertThat(result.isAuthenticated()).isTrue();
+        assertThat(result.getName()).isEqualTo(TEST_USERNAME);
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+        assertThat(meterRegistry.get(CachingAuthenticationProvider.TIMER_NAME)
+                .tags("cache", "hit", "outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void authenticate_ShouldNotCacheCredentials_WhenPasswordIsWrong() {
+        // Arrange
+        assertThatThrownBy(() -> provider.authenticate(provideAuthentication("wrong password")))
+                .isInstanceOf(BadCredentialsException.class);
+
+        // Act & Assert
+        assertThatThrownBy(() -> provider.authenticate(provideAuthentication("wrong password")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(passwordEncoder, times(2)).matches(any(), anyString());
+    }
+
+    //=========================================Cache Miss==========================================================
+
+    @Test
+    void authenticate_ShouldRejectWrongPassword_WhenCorrectPasswordIsCached() {
+        // Arrange
+        provider.authenticate(provideAuthentication(TEST_PASSWORD));
+
+        // Act & Assert
+        assertThatThrownBy(() -> provider.authenticate(provideAuthentication("wrong password")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+        assertThat(meterRegistry.get(CachingAuthenticationProvider.TIMER_NAME)
+                .tags("cache", "miss", "outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void authenticate_ShouldVerifyAgain_WhenCredentialsChanged() {
+        // Arrange
+        provider.authenticate(provideAuthentication(TEST_PASSWORD));
+        credentialCache.onCredentialsChanged(new UserCredentialsChangedEvent(TEST_USERNAME));
+
+        // Act
+        Authentication result = provider.authenticate(provideAuthentication(TEST_PASSWORD));
+
+        // Assert
+        assertThat(result.isAuthenticated()).isTrue();
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+        assertThat(credentialCache.getIfVerified(TEST_USERNAME, TEST_PASSWORD)).isPresent();
+    }
+
+    //=========================================Verified Credential Cache===========================================
+
+    @Test
+    void getIfVerified_ShouldNotExposePassword_WhenCredentialsAreCached() {
+        // Arrange
+        provider.authenticate(provideAuthentication(TEST_PASSWORD));
+
+        // Act & Assert
+        assertThat(credentialCache.getIfVerified(TEST_USERNAME, TEST_PASSWORD))
+                .hasValueSatisfying(user -> assertThat(user.getPassword()).isEmpty());
+        assertThat(credentialCache.getIfVerified(TEST_USERNAME, "wrong password")).isEmpty();
+    }
+
+    static Authentication provideAuthentication(String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(TEST_USERNAME, password);
+    }
+}
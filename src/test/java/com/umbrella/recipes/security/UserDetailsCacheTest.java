@@ -0,0 +1,113 @@
+package com.umbrella.recipes.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class UserDetailsCacheTest {
+
+    private static final String TEST_USERNAME = "test@test.com";
+
+    private final UserDetailsCache userDetailsCache =
+            new UserDetailsCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    //=========================================Cache Hit===========================================================
+
+    @Test
+    void get_ShouldNotCallLoader_WhenUserIsCached() {
+        // Arrange
+        UserDetails first = userDetailsCache.get(TEST_USERNAME, provideLoader("hash1"));
+
+        // Act
+        UserDetails second = userDetailsCache.get(TEST_USERNAME, provideLoader("hash2"));
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(second).isSameAs(first);
+        assertThat(second.getPassword()).isEqualTo("hash1");
+    }
+
+    @Test
+    void get_ShouldReturnImmutableCopy_WhenUserIsLoaded() {
+        // Arrange
+        UserDetails loaded = provideUser("hash1");
+
+        // Act
+        UserDetails cached = userDetailsCache.get(TEST_USERNAME, username -> loaded);
+
+        // Assert
+        assertThat(cached).isNotSameAs(loaded).isInstanceOf(User.class);
+        assertThat(cached.getUsername()).isEqualTo(TEST_USERNAME);
+        assertThat(cached.getAuthorities()).isEqualTo(loaded.getAuthorities());
+    }
+
+    //=========================================Cache Miss==========================================================
+
+    @Test
+    void get_ShouldNotCacheFailure_WhenLoaderThrows() {
+        // Arrange
+        assertThatThrownBy(() -> userDetailsCache.get(TEST_USERNAME, username -> {
+            throw new UsernameNotFoundException("User not found");
+        })).isInstanceOf(UsernameNotFoundException.class);
+
+        // Act
+        UserDetails user = userDetailsCache.get(TEST_USERNAME, provideLoader("hash1"));
+
+        // Assert
+        assertThat(user.getPassword()).isEqualTo("hash1");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void get_ShouldReloadUser_WhenCredentialsChanged() {
+        // Arrange
+        userDetailsCache.get(TEST_USERNAME, provideLoader("hash1"));
+        userDetailsCache.onCredentialsChanged(new UserCredentialsChangedEvent(TEST_USERNAME));
+
+        // Act
+        UserDetails user = userDetailsCache.get(TEST_USERNAME, provideLoader("hash2"));
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(user.getPassword()).isEqualTo("hash2");
+    }
+
+    @Test
+    void get_ShouldKeepOtherUsers_WhenCredentialsChanged() {
+        // Arrange
+        userDetailsCache.get(TEST_USERNAME, provideLoader("hash1"));
+        userDetailsCache.onCredentialsChanged(new UserCredentialsChangedEvent("other@test.com"));
+
+        // Act
+        UserDetails user = userDetailsCache.get(TEST_USERNAME, provideLoader("hash2"));
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(user.getPassword()).isEqualTo("hash1");
+    }
+
+    private Function<String, UserDetails> provideLoader(String passwordHash) {
+        return username -> {
+            loads.incrementAndGet();
+            return provideUser(passwordHash);
+        };
+    }
+
+    static UserDetails provideUser(String passwordHash) {
+        return User.withUsername(TEST_USERNAME)
+                .password(passwordHash)
+                .authorities("ROLE_USER")
+                .build();
+    }
+}
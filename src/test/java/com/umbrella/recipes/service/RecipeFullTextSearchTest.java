@@ -0,0 +1,143 @@
+package com.umbrella.recipes.service;
+
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.RecipesRepository;
+import com.umbrella.recipes.persistence.UserRepository;
+import com.umbrella.recipes.web.dto.RecipeDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the default {@code full_text} search backend against PostgreSQL, which the H2 based RecipeSearchTest cannot.
+ */
+@Testcontainers
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "recipes.search.backend=full_text")
+public class RecipeFullTextSearchTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipesRepository recipesRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        recipesRepository.deleteAll();
+        UserModel user = userRepository.saveAndFlush(new UserModel("fulltext@test.com", "password", "ROLE_USER"));
+        recipesRepository.saveAllAndFlush(RecipeSearchTest.provideRecipeModelList(user));
+    }
+
+    //=========================================Ranking=============================================================
+
+    @Test
+    void searchRecipesRanked_ShouldRankNameMatchesAboveDescriptionMatches() {
+        // Act
+        List<RecipeDTO> recipes = recipeService.searchRecipesRanked("tomato", 10);
+
+        // Assert
+        assertThat(recipes).extracting(RecipeDTO::name).containsExactly("Tomato soup", "Pasta");
+    }
+
+    @Test
+    void searchRecipesRanked_ShouldMatchStemmedWords() {
+        // Act
+        List<RecipeDTO> recipes = recipeService.searchRecipesRanked("pancake", 10);
+
+        // Assert
+        assertThat(recipes).extracting(RecipeDTO::name).containsExactly("Pancakes");
+    }
+
+    @Test
+    void searchRecipesRanked_ShouldMatchIngredients() {
+        // Act
+        List<RecipeDTO> recipes = recipeService.searchRecipesRanked("MILK", 10);
+
+        // Assert
+        assertThat(recipes).extracting(RecipeDTO::name).containsExactly("Pancakes");
+    }
+
+    @Test
+    void searchRecipesRanked_ShouldApplyLimit() {
+        // Act
+        List<RecipeDTO> recipes = recipeService.searchRecipesRanked("tomato", 1);
+
+        // Assert
+        assertThat(recipes).extracting(RecipeDTO::name).containsExactly("Tomato soup");
+    }
+
+    @Test
+    void searchRecipesRanked_ShouldReturnEmptyList_WhenNothingMatches() {
+        // Act
+        List<RecipeDTO> recipes = recipeService.searchRecipesRanked("missingNO", 10);
+
+        // Assert
+        assertThat(recipes).isEmpty();
+    }
+
+    //=========================================Indexes=============================================================
+
+    @Test
+    void findViewsByFullText_ShouldUseGinIndexes() {
+        // Act
+        String plan = explainWithoutSeqScan("""
+                SELECT m.recipe_id FROM recipe_model m
+                WHERE to_tsvector('english', m.name || ' ' || m.description) @@ websearch_to_tsquery('english', 'tomato')
+                UNION
+                SELECT i.recipe_id FROM recipe_model i
+                WHERE jsonb_to_tsvector('english', i.ingredients_json, '["string"]')
+                      @@ websearch_to_tsquery('english', 'tomato')
+                """);
+
+        // Assert
+        assertThat(plan).contains("recipe_model_text_search_idx", "recipe_model_ingredients_json_text_search_idx");
+    }
+
+    /**
+     * Explains a query with sequential scans disabled, so that the planner picks any index that matches the query's
+     * expressions even on a table this small.
+     */
+    private String explainWithoutSeqScan(String query) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                List<String> lines = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+                    while (resultSet.next()) {
+                        lines.add(resultSet.getString(1));
+                    }
+                } finally {
+                    statement.execute("RESET enable_seqscan");
+                }
+                return String.join("\n", lines);
+            }
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package com.umbrella.recipes.service;
+
+import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.RecipesRepository;
+import com.umbrella.recipes.persistence.UserRepository;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.umbrella.recipes.service.RecipeServiceQueryCountTest.provideRecipeModel;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of 10k recipes with one sequence call per recipe (the allocation size of 1 the old per-insert
+ * generator amounted to) and with the pooled-lo sequence. Each nested class starts its own context on a freshly
+ * created schema. Excluded from {@code test}, run with {@code ./gradlew benchmarkTest}.
+ */
+@Tag("benchmark")
+@Testcontainers
+public class RecipeInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeInsertBenchmarkTest.class);
+
+    private static final int RECIPES = 10_000;
+    private static final int CHUNK_SIZE = 500;
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @Nested
+    @ExtendWith(SpringExtension.class)
+    @SpringBootTest(properties = {
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.jpa.properties.recipes.id.allocation-size=1"})
+    class SequenceCallPerInsert extends InsertBenchmark {
+    }
+
+    @Nested
+    @ExtendWith(SpringExtension.class)
+    @SpringBootTest(properties = {
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.jpa.properties.recipes.id.allocation-size=50"})
+    class PooledLoSequence extends InsertBenchmark {
+    }
+
+    abstract static class InsertBenchmark {
+
+        @Autowired
+        private RecipesRepository recipesRepository;
+
+        @Autowired
+        private UserRepository userRepository;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @Test
+        void saveAllAndFlush_ShouldInsertAllRecipes_WhenSavedInChunks() {
+            // Arrange
+            UserModel user = userRepository.saveAndFlush(
+                    new UserModel("benchmark@test.com", "password", "ROLE_USER"));
+
+            // Act
+            long start = System.nanoTime();
+            for (int offset = 0; offset < RECIPES; offset += CHUNK_SIZE) {
+                List<RecipeModel> chunk = IntStream.range(offset, offset + CHUNK_SIZE)
+                        .mapToObj(index -> provideRecipeModel(user, "benchmark", index))
+                        .toList();
+                transactionTemplate.executeWithoutResult(status -> recipesRepository.saveAllAndFlush(chunk));
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // Assert
+            log.info("{}: inserted {} recipes in {} ms ({} recipes/s)", getClass().getSimpleName(),
+                    RECIPES, elapsedMillis, RECIPES * 1000L / Math.max(elapsedMillis, 1));
+            assertThat(recipesRepository.count()).isEqualTo(RECIPES);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.umbrella.recipes.service;
+
+import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.RecipesRepository;
+import com.umbrella.recipes.persistence.UserRepository;
+import com.umbrella.recipes.web.dto.RecipeCursor;
+import com.umbrella.recipes.web.dto.RecipeDTO;
+import com.umbrella.recipes.web.dto.RecipePage;
+import com.umbrella.recipes.web.exception.InvalidCursorException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pages through real keyset queries on PostgreSQL, including recipes that share the same date and are only told
+ * apart by their ID.
+ */
+@Testcontainers
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+public class RecipeKeysetPaginationTest {
+
+    private static final LocalDateTime SAME_DATE = LocalDateTime.of(2023, 11, 1, 12, 0);
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipesRepository recipesRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Long> expectedIds;
+
+    private List<String> expectedNames;
+
+    @BeforeEach
+    void setUp() {
+        recipesRepository.deleteAll();
+        UserModel user = userRepository.saveAndFlush(new UserModel("keyset@test.com", "password", "ROLE_USER"));
+        List<RecipeModel> recipes = recipesRepository.saveAllAndFlush(
+                RecipeServiceQueryCountTest.provideRecipeModels(user, "cat1", 7));
+        List<Long> ids = recipes.stream().map(RecipeModel::getRecipeId).sorted(Comparator.reverseOrder()).toList();
+
+        // The two oldest IDs get a newer date, all others share one date and are ordered by ID alone.
+        jdbcTemplate.update("UPDATE recipe_model SET date = ?", SAME_DATE);
+        jdbcTemplate.update("UPDATE recipe_model SET date = ? WHERE recipe_id IN (?, ?)",
+                SAME_DATE.plusDays(1), ids.get(5), ids.get(6));
+
+        expectedIds = new ArrayList<>(List.of(ids.get(5), ids.get(6)));
+        expectedIds.addAll(ids.subList(0, 5));
+        expectedNames = expectedIds.stream()
+                .map(id -> recipes.stream().filter(recipe -> recipe.getRecipeId().equals(id)).findFirst().orElseThrow())
+                .map(RecipeModel::getName)
+                .toList();
+    }
+
+    //=========================================Paging==============================================================
+
+    @Test
+    void searchRecipePageByCategory_ShouldVisitEveryRecipeOnce_WhenDatesAreEqual() {
+        // Act
+        RecipePage firstPage = recipeService.searchRecipePageByCategory("cat1", 3, null);
+        RecipePage secondPage = recipeService.searchRecipePageByCategory("cat1", 3, firstPage.next());
+        RecipePage lastPage = recipeService.searchRecipePageByCategory("cat1", 3, secondPage.next());
+
+        // Assert
+        assertThat(firstPage.recipes()).hasSize(3);
+        assertThat(firstPage.totalHint()).isEqualTo(7);
+        assertThat(secondPage.recipes()).hasSize(3);
+        assertThat(lastPage.recipes()).hasSize(1);
+        assertThat(lastPage.next()).isNull();
+
+        List<String> visitedNames = new ArrayList<>();
+        for (RecipePage page : List.of(firstPage, secondPage, lastPage)) {
+            page.recipes().stream().map(RecipeDTO::name).forEach(visitedNames::add);
+        }
+        assertThat(visitedNames).containsExactlyElementsOf(expectedNames);
+    }
+
+    @Test
+    void searchRecipePageByName_ShouldVisitEveryRecipeOnce_WhenDatesAreEqual() {
+        // Arrange
+        List<String> visitedNames = new ArrayList<>();
+        String cursor = null;
+
+        // Act
+        do {
+            RecipePage page = recipeService.searchRecipePageByName("recipe", 2, cursor);
+            page.recipes().stream().map(RecipeDTO::name).forEach(visitedNames::add);
+            cursor = page.next();
+        } while (cursor != null);
+
+        // Assert
+        assertThat(visitedNames).containsExactlyElementsOf(expectedNames);
+    }
+
+    //=========================================Cursor==============================================================
+
+    @Test
+    void searchRecipePageByCategory_ShouldResumeAfterCursor_WhenCursorIsDecoded() {
+        // Arrange
+        RecipePage firstPage = recipeService.searchRecipePageByCategory("cat1", 3, null);
+        RecipeCursor cursor = RecipeCursor.decode(firstPage.next());
+
+        // Act
+        RecipePage secondPage = recipeService.searchRecipePageByCategory("cat1", 3, cursor.encode());
+
+        // Assert
+        assertThat(cursor.date()).isEqualTo(SAME_DATE);
+        assertThat(cursor.recipeId()).isEqualTo(expectedIds.get(2));
+        assertThat(secondPage.recipes()).extracting(RecipeDTO::name)
+                .containsExactlyElementsOf(expectedNames.subList(3, 6));
+    }
+
+    @Test
+    void searchRecipePageByCategory_ShouldThrow_WhenCursorIsTampered() {
+        // Arrange
+        String cursor = recipeService.searchRecipePageByCategory("cat1", 3, null).next();
+        String notADate = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("yesterday_42".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThatThrownBy(() -> recipeService.searchRecipePageByCategory("cat1", 3, cursor + "*"))
+                .isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> recipeService.searchRecipePageByCategory("cat1", 3, notADate))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+}
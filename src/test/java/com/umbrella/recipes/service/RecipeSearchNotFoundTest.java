@@ -0,0 +1,51 @@
+package com.umbrella.recipes.service;
+
+import com.umbrella.recipes.persistence.RecipesRepository;
+import com.umbrella.recipes.web.exception.RecipeNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Searches with {@code recipes.search.not-found-on-empty} set, the default and legacy behavior of answering an empty
+ * result with a 404.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "recipes.search.not-found-on-empty=true")
+@ActiveProfiles("h2")
+public class RecipeSearchNotFoundTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipesRepository recipesRepository;
+
+    @BeforeEach
+    void setUp() {
+        recipesRepository.deleteAll();
+    }
+
+    @Test
+    void searchRecipeByCategory_ShouldThrowStacklessException_WhenNothingMatches() {
+        // Assert
+        assertThatThrownBy(() -> recipeService.searchRecipeByCategory("missingNO"))
+                .isInstanceOf(RecipeNotFoundException.class)
+                .hasMessage("No recipes found for missingNO: missingNO")
+                .satisfies(e -> assertThat(e.getStackTrace()).isEmpty());
+    }
+
+    @Test
+    void searchRecipeByName_ShouldThrowException_WhenNothingMatches() {
+        // Assert
+        assertThatThrownBy(() -> recipeService.searchRecipeByName("missingNO"))
+                .isInstanceOf(RecipeNotFoundException.class);
+    }
+}
@@ -0,0 +1,130 @@
+package com.umbrella.recipes.service;
+
+import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.RecipesRepository;
+import com.umbrella.recipes.persistence.UserRepository;
+import com.umbrella.recipes.web.dto.RecipeDTO;
+import com.umbrella.recipes.web.dto.RecipePage;
+import com.umbrella.recipes.web.exception.RecipeNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@ActiveProfiles("h2")
+public class RecipeSearchTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipesRepository recipesRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        recipesRepository.deleteAll();
+        UserModel user = userRepository.saveAndFlush(new UserModel("search@test.com", "password", "ROLE_USER"));
+        recipesRepository.saveAllAndFlush(provideRecipeModelList(user));
+    }
+
+    @Test
+    void searchRecipesRanked_ShouldRankNameMatchesFirst() {
+        // Act
+        List<RecipeDTO> recipes = recipeService.searchRecipesRanked("tomato", 10);
+
+        // Assert
+        assertThat(recipes).extracting(RecipeDTO::name).containsExactly("Tomato soup", "Pasta");
+    }
+
+    @Test
+    void searchRecipesRanked_ShouldMatchIngredients() {
+        // Act
+        List<RecipeDTO> recipes = recipeService.searchRecipesRanked("MILK", 10);
+
+        // Assert
+        assertThat(recipes).extracting(RecipeDTO::name).containsExactly("Pancakes");
+    }
+
+    @Test
+    void searchRecipesRanked_ShouldReturnEmptyList_WhenNothingMatches() {
+        // Act
+        List<RecipeDTO> recipes = recipeService.searchRecipesRanked("missingNO", 10);
+
+        // Assert
+        assertThat(recipes).isEmpty();
+    }
+
+    @Test
+    void searchRecipeByName_ShouldTreatWildcardsLiterally() {
+        // Assert
+        assertThatThrownBy(() -> recipeService.searchRecipeByName("%"))
+                .isInstanceOf(RecipeNotFoundException.class);
+    }
+
+    @Test
+    void searchRecipePageByName_ShouldReturnTotalHint_OnFirstPage() {
+        // Act
+        RecipePage firstPage = recipeService.searchRecipePageByName("t", 1, null);
+        RecipePage secondPage = recipeService.searchRecipePageByName("t", 1, firstPage.next());
+
+        // Assert
+        assertThat(firstPage.recipes()).hasSize(1);
+        assertThat(firstPage.totalHint()).isEqualTo(2);
+        assertThat(secondPage.recipes()).hasSize(1);
+        assertThat(secondPage.totalHint()).isNull();
+    }
+
+    @Test
+    void searchRecipePageByCategory_ShouldReturnEmptyPage_WhenNothingMatches() {
+        // Act
+        RecipePage page = recipeService.searchRecipePageByCategory("missingNO", 10, null);
+
+        // Assert
+        assertThat(page.recipes()).isEmpty();
+        assertThat(page.next()).isNull();
+        assertThat(page.totalHint()).isZero();
+    }
+
+    static List<RecipeModel> provideRecipeModelList(UserModel user) {
+        return List.of(
+                RecipeModel.builder()
+                        .name("Pasta")
+                        .description("Pasta with tomato sauce")
+                        .category("dinner")
+                        .ingredients(List.of("pasta", "tomato"))
+                        .directions(List.of("boil", "mix"))
+                        .userModel(user)
+                        .build(),
+                RecipeModel.builder()
+                        .name("Tomato soup")
+                        .description("Warm and simple")
+                        .category("lunch")
+                        .ingredients(List.of("tomato", "water"))
+                        .directions(List.of("cook"))
+                        .userModel(user)
+                        .build(),
+                RecipeModel.builder()
+                        .name("Pancakes")
+                        .description("Sweet breakfast")
+                        .category("breakfast")
+                        .ingredients(List.of("flour", "milk"))
+                        .directions(List.of("fry"))
+                        .userModel(user)
+                        .build()
+        );
+    }
+}
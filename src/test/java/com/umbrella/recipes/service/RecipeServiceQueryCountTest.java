@@ -0,0 +1,373 @@
+package com.umbrella.recipes.service;
+
+import com.umbrella.recipes.model.RecipeModel;
+import com.umbrella.recipes.model.UserModel;
+import com.umbrella.recipes.persistence.QueryCounts;
+import com.umbrella.recipes.persistence.RecipeVersion;
+import com.umbrella.recipes.persistence.RecipesRepository;
+import com.umbrella.recipes.persistence.UserRepository;
+import com.umbrella.recipes.web.dto.CategoryCount;
+import com.umbrella.recipes.web.dto.RecipeDTO;
+import com.umbrella.recipes.web.filter.QueryCountFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class RecipeServiceQueryCountTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16");
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipesRepository recipesRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private UserModel user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        recipesRepository.deleteAll();
+        user = userRepository.saveAndFlush(new UserModel("count@test.com", "password", "ROLE_USER"));
+    }
+
+    //=========================================Get Recipe==========================================================
+
+    @Test
+    void getRecipe_ShouldUseSingleStatement() {
+        // Arrange
+        RecipeModel recipe = recipesRepository.saveAndFlush(provideRecipeModel(user, "cat1", 0));
+        statistics.clear();
+
+        // Act
+        RecipeDTO recipeDTO = recipeService.getRecipe(recipe.getRecipeId()).orElseThrow();
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(recipeDTO.name()).isEqualTo("recipe 0");
+        assertThat(recipeDTO.ingredients()).containsExactly("ingredient 0", "ingredient 1", "ingredient 2");
+        assertThat(recipeDTO.directions()).containsExactly("direction 0", "direction 1");
+    }
+
+    @Test
+    void getRecipe_ShouldNotQuery_WhenRecipeIsCached() {
+        // Arrange
+        RecipeModel recipe = recipesRepository.saveAndFlush(provideRecipeModel(user, "cat1", 0));
+        recipeService.getRecipe(recipe.getRecipeId());
+        statistics.clear();
+
+        // Act
+        RecipeDTO recipeDTO = recipeService.getRecipe(recipe.getRecipeId()).orElseThrow();
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(recipeDTO.name()).isEqualTo("recipe 0");
+    }
+
+    @Test
+    void getRecipe_ShouldReturnUpdatedRecipe_WhenCachedRecipeIsUpdated() {
+        // Arrange
+        RecipeModel recipe = recipesRepository.saveAndFlush(provideRecipeModel(user, "cat1", 0));
+        recipeService.getRecipe(recipe.getRecipeId());
+
+        // Act
+        recipeService.updateRecipe(user.getUsername(), recipe.getRecipeId(), provideRecipeModel(user, "cat2", 1), null);
+        RecipeDTO recipeDTO = recipeService.getRecipe(recipe.getRecipeId()).orElseThrow();
+
+        // Assert
+        assertThat(recipeDTO.name()).isEqualTo("recipe 1");
+        assertThat(recipeDTO.category()).isEqualTo("cat2");
+    }
+
+    @Test
+    void getVersionedRecipe_ShouldNotQuery_WhenRecipeIsCached() {
+        // Arrange
+        RecipeModel recipe = recipesRepository.saveAndFlush(provideRecipeModel(user, "cat1", 0));
+        recipeService.getVersionedRecipe(recipe.getRecipeId());
+        statistics.clear();
+
+        // Act
+        VersionedRecipe versionedRecipe = recipeService.getVersionedRecipe(recipe.getRecipeId());
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(versionedRecipe.version().version()).isEqualTo(recipe.getVersion());
+        assertThat(versionedRecipe.version().eTag()).isEqualTo(RecipeVersion.eTagOf(recipe.getVersion()));
+    }
+
+    @Test
+    void getVersionedRecipe_ShouldReturnNewVersion_WhenCachedRecipeIsUpdated() {
+        // Arrange
+        RecipeModel recipe = recipesRepository.saveAndFlush(provideRecipeModel(user, "cat1", 0));
+        recipeService.getVersionedRecipe(recipe.getRecipeId());
+
+        // Act
+        recipeService.updateRecipe(user.getUsername(), recipe.getRecipeId(), provideRecipeModel(user, "cat1", 1), null);
+        VersionedRecipe versionedRecipe = recipeService.getVersionedRecipe(recipe.getRecipeId());
+
+        // Assert
+        assertThat(versionedRecipe.version().version()).isEqualTo(recipe.getVersion() + 1);
+    }
+
+    //=========================================Update Recipe=======================================================
+
+    @Test
+    void updateRecipe_ShouldUpdateOnlyRecipeRow_WhenOneIngredientChanges() {
+        // Arrange
+        RecipeModel recipe = provideRecipeModel(user, "cat1", 0);
+        recipe.setIngredients(provideSteps("ingredient", 20));
+        recipesRepository.saveAndFlush(recipe);
+
+        List<String> ingredients = provideSteps("ingredient", 20);
+        ingredients.set(5, "changed ingredient");
+        RecipeModel recipeRequest = provideRecipeModel(user, "cat1", 0);
+        recipeRequest.setIngredients(ingredients);
+        statistics.clear();
+
+        // Act
+        recipeService.updateRecipe(user.getUsername(), recipe.getRecipeId(), recipeRequest, null);
+        RecipeDTO recipeDTO = recipeService.getRecipe(recipe.getRecipeId()).orElseThrow();
+
+        // Assert
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(recipeDTO.ingredients()).containsExactlyElementsOf(ingredients);
+    }
+
+    @Test
+    void updateRecipe_ShouldNotLoadOwner() {
+        // Arrange
+        RecipeModel recipe = recipesRepository.saveAndFlush(provideRecipeModel(user, "cat1", 0));
+        statistics.clear();
+
+        // Act
+        recipeService.updateRecipe(user.getUsername(), recipe.getRecipeId(), provideRecipeModel(user, "cat1", 1), null);
+
+        // Assert
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    //=========================================Search Recipes======================================================
+
+    @Test
+    void searchRecipeByCategory_ShouldNotLoadEntitiesOrFlush() {
+        // Arrange
+        recipesRepository.saveAllAndFlush(provideRecipeModels(user, "cat1", 5));
+        statistics.clear();
+
+        // Act
+        List<RecipeDTO> recipes = recipeService.searchRecipeByCategory("cat1");
+
+        // Assert
+        assertThat(recipes).hasSize(5);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getFlushCount()).isZero();
+    }
+
+    @Test
+    void searchRecipeByCategory_ShouldUseConstantStatements_WhenResultSizeGrows() {
+        // Arrange
+        recipesRepository.saveAllAndFlush(provideRecipeModels(user, "small", 2));
+        recipesRepository.saveAllAndFlush(provideRecipeModels(user, "large", 50));
+
+        // Act
+        statistics.clear();
+        List<RecipeDTO> small = recipeService.searchRecipeByCategory("small");
+        long smallStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<RecipeDTO> large = recipeService.searchRecipeByCategory("large");
+        long largeStatements = statistics.getPrepareStatementCount();
+
+        // Assert
+        assertThat(small).hasSize(2);
+        assertThat(large).hasSize(50);
+        assertThat(large).allSatisfy(recipe -> assertThat(recipe.ingredients()).hasSize(3));
+        assertThat(smallStatements).isEqualTo(1);
+        assertThat(largeStatements).isEqualTo(smallStatements);
+    }
+
+    @Test
+    void searchRecipeByName_ShouldUseConstantStatements_WhenResultSizeGrows() {
+        // Arrange
+        recipesRepository.saveAllAndFlush(provideRecipeModels(user, "cat1", 50));
+
+        // Act
+        statistics.clear();
+        List<RecipeDTO> single = recipeService.searchRecipeByName("recipe 7");
+        long singleStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<RecipeDTO> all = recipeService.searchRecipeByName("RECIPE");
+        long allStatements = statistics.getPrepareStatementCount();
+
+        // Assert
+        assertThat(single).isNotEmpty();
+        assertThat(all).hasSize(50);
+        assertThat(singleStatements).isEqualTo(1);
+        assertThat(allStatements).isEqualTo(singleStatements);
+    }
+
+    @Test
+    void searchRecipeByCategory_ShouldIgnoreCaseAndSurroundingSpaces() {
+        // Arrange
+        recipesRepository.saveAndFlush(provideRecipeModel(user, "Dessert", 0));
+        recipesRepository.saveAndFlush(provideRecipeModel(user, " DESSERT ", 1));
+
+        // Act
+        List<RecipeDTO> recipes = recipeService.searchRecipeByCategory("dessert");
+
+        // Assert
+        assertThat(recipes).extracting(RecipeDTO::name).containsExactlyInAnyOrder("recipe 0", "recipe 1");
+    }
+
+    //=========================================Category Counts=====================================================
+
+    @Test
+    void getCategoryCounts_ShouldFollowCreatedAndUpdatedRecipes() {
+        // Arrange
+        recipeService.getCategoryCounts();
+        recipeService.saveRecipe(user.getUsername(), provideRecipeModel(user, "Soup", 0));
+        recipeService.saveRecipe(user.getUsername(), provideRecipeModel(user, "SOUP", 1));
+        Long stewId = recipeService.saveRecipe(user.getUsername(), provideRecipeModel(user, "soup", 2));
+
+        // Act
+        recipeService.updateRecipe(user.getUsername(), stewId, provideRecipeModel(user, "Stew", 2), null);
+        statistics.clear();
+        List<CategoryCount> counts = recipeService.getCategoryCounts();
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(counts).contains(new CategoryCount("soup", 2), new CategoryCount("stew", 1));
+    }
+
+    //=========================================Instrumentation=====================================================
+
+    @Test
+    void queryCounts_ShouldMatchHibernateStatistics_WhenRecipeIsUpdated() {
+        // Arrange
+        RecipeModel recipe = recipesRepository.saveAndFlush(provideRecipeModel(user, "cat1", 0));
+        statistics.clear();
+
+        // Act
+        QueryCounts counts = QueryCounts.start();
+        try {
+            recipeService.updateRecipe(user.getUsername(), recipe.getRecipeId(), provideRecipeModel(user, "cat1", 1), null);
+        } finally {
+            QueryCounts.stop();
+        }
+
+        // Assert
+        assertThat(counts.statements()).isPositive().isEqualTo(statistics.getPrepareStatementCount());
+        assertThat(counts.entities()).isPositive().isEqualTo(statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void queryCounts_ShouldIncludeStreamedStatements_WhenBodyRunsOnAnotherThread() throws Exception {
+        // Arrange
+        recipesRepository.saveAndFlush(provideRecipeModel(user, "cat1", 0));
+        statistics.clear();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        QueryCounts counts = QueryCounts.start();
+        StreamingResponseBody body;
+        try {
+            body = QueryCountFilter.counted(stream -> recipeService.streamRecipesByCategory("cat1", stream));
+        } finally {
+            QueryCounts.stop();
+        }
+        CompletableFuture.runAsync(() -> {
+            try {
+                body.writeTo(out);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).get();
+
+        // Assert
+        assertThat(out.toString()).contains("recipe 0");
+        assertThat(counts.statements()).isPositive().isEqualTo(statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getRecipe_ShouldBeTimed() {
+        // Arrange
+        RecipeModel recipe = recipesRepository.saveAndFlush(provideRecipeModel(user, "cat1", 0));
+        long before = serviceTimerCount("getRecipe");
+
+        // Act
+        recipeService.getRecipe(recipe.getRecipeId());
+
+        // Assert
+        assertThat(serviceTimerCount("getRecipe")).isEqualTo(before + 1);
+    }
+
+    private long serviceTimerCount(String method) {
+        Timer timer = meterRegistry.find(RecipeService.TIMER_NAME).tag("method", method).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    //=======================================Provider methods=========================================================
+
+    static RecipeModel provideRecipeModel(UserModel user, String category, int index) {
+        return RecipeModel.builder()
+                .name("recipe " + index)
+                .description("description " + index)
+                .category(category)
+                .ingredients(List.of("ingredient 0", "ingredient 1", "ingredient 2"))
+                .directions(List.of("direction 0", "direction 1"))
+                .userModel(user)
+                .build();
+    }
+
+    static List<String> provideSteps(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(index -> prefix + " " + index)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    static List<RecipeModel> provideRecipeModels(UserModel user, String category, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(index -> provideRecipeModel(user, category, index))
+                .toList();
+    }
+}